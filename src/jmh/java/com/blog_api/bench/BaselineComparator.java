@@ -0,0 +1,116 @@
+package com.blog_api.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Compare les résultats JMH (JSON) à la référence enregistrée : écart par benchmark et jeu de paramètres,
+// dans le sens du mode (débit : plus haut est meilleur ; temps : plus bas est meilleur). Échoue si une
+// régression dépasse --max-regression (%). --update=true remplace la référence par les résultats.
+// Options : --result --baseline --max-regression --update
+public final class BaselineComparator {
+
+    private BaselineComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parse(args);
+        Path result = Path.of(options.getOrDefault("result", "target/jmh-result.json"));
+        Path baseline = Path.of(options.getOrDefault("baseline", "src/jmh/baseline.json"));
+        double maxRegression = Double.parseDouble(options.getOrDefault("max-regression", "10"));
+
+        if (!Files.exists(result)) {
+            System.out.println("Aucun résultat JMH à comparer : " + result);
+            return;
+        }
+        if (Boolean.parseBoolean(options.getOrDefault("update", "false"))) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Référence mise à jour : " + baseline);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.println("Pas de référence (" + baseline + ") : relancer avec -Djmh.update-baseline=true " +
+                    "sur la machine de mesure pour l'enregistrer");
+            return;
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Score> before = scores(objectMapper.readTree(baseline.toFile()));
+        Map<String, Score> after = scores(objectMapper.readTree(result.toFile()));
+
+        int regressions = 0;
+        System.out.printf(Locale.ROOT, "%-70s %14s %14s %9s%n", "benchmark", "référence", "actuel", "écart");
+        for (Map.Entry<String, Score> entry : new TreeMap<>(after).entrySet()) {
+            Score current = entry.getValue();
+            Score reference = before.get(entry.getKey());
+            if (reference == null) {
+                System.out.printf(Locale.ROOT, "%-70s %14s %14.3f %9s%n", entry.getKey(), "-", current.value(), "nouveau");
+                continue;
+            }
+            // Écart signé : positif = amélioration, quel que soit le mode
+            double change = (current.value() - reference.value()) / reference.value() * 100;
+            if (!current.higherIsBetter()) {
+                change = -change;
+            }
+            boolean regression = change < -maxRegression;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf(Locale.ROOT, "%-70s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), reference.value(),
+                    current.value(), change, regression ? "  RÉGRESSION" : "");
+        }
+        if (regressions > 0) {
+            System.out.printf(Locale.ROOT, "%d régression(s) au-delà de %.0f %%%n", regressions, maxRegression);
+            System.exit(1);
+        }
+    }
+
+    // Clé : nom du benchmark suivi de ses paramètres, unité affichée avec le score
+    private static Map<String, Score> scores(JsonNode results) {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : results) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText()
+                    .replace("com.blog_api.bench.", ""));
+            JsonNode params = run.path("params");
+            new TreeMap<>(toMap(params)).forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+            JsonNode metric = run.path("primaryMetric");
+            key.append(" (").append(metric.path("scoreUnit").asText()).append(')');
+            scores.put(key.toString(), new Score(metric.path("score").asDouble(),
+                    "thrpt".equals(run.path("mode").asText())));
+        }
+        return scores;
+    }
+
+    private static Map<String, String> toMap(JsonNode params) {
+        Map<String, String> map = new HashMap<>();
+        params.fields().forEachRemaining(field -> map.put(field.getKey(), field.getValue().asText()));
+        return map;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int separator = arg.indexOf('=');
+                String value = arg.substring(separator + 1);
+                if (!value.isBlank()) {
+                    options.put(arg.substring(2, separator), value);
+                }
+            }
+        }
+        return options;
+    }
+
+    private record Score(double value, boolean higherIsBetter) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.blog_api.bench;
+
+import com.blog_api.BlogApiApplication;
+import com.blog_api.Model.Article;
+import com.blog_api.Model.Commentaire;
+import com.blog_api.Search.ArticleSearchIndex;
+import com.blog_api.Service.ArticleBulkService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Corpus synthétique reproductible (graine fixe) et contexte Spring sur H2 en mode PostgreSQL,
+// schéma créé par les migrations Flyway comme en production
+final class BenchmarkCorpus {
+
+    static final String[] CATEGORIES = {"Technologie", "Java", "Bases de données", "Architecture",
+            "Sécurité", "Cloud", "Front-end", "Carrière"};
+
+    private static final String[] MOTS = {"spring", "java", "postgresql", "index", "requête", "cache",
+            "thread", "virtuel", "latence", "débit", "mémoire", "réseau", "sérialisation", "json", "api",
+            "transaction", "verrou", "pagination", "curseur", "recherche", "commentaire", "article",
+            "performance", "profilage", "conteneur", "déploiement", "sécurité", "migration", "schéma", "flux"};
+
+    private BenchmarkCorpus() {
+    }
+
+    static ConfigurableApplicationContext start(String database) {
+        String h2 = database + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+        // Passées en arguments de ligne de commande : elles doivent l'emporter sur application.properties
+        return new SpringApplicationBuilder(BlogApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--spring.datasource.url=jdbc:h2:mem:" + h2,
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///" + h2,
+                        "--spring.r2dbc.username=sa",
+                        "--spring.r2dbc.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--blog.search.rebuild-on-startup=false",
+                        "--blog.comments.journal=target/bench-" + database + "-commentaires.ndjson");
+    }
+
+    // Articles importés par le chemin d'import en masse, puis commentaires insérés en batch JDBC
+    static void seed(ConfigurableApplicationContext context, int articles, int commentairesParArticle)
+            throws IOException, InterruptedException {
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < articles; i++) {
+            ndjson.append(objectMapper.writeValueAsString(article(i, random, 2000))).append('\n');
+        }
+        context.getBean(ArticleBulkService.class)
+                .importNdjson(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM articles ORDER BY id", Long.class);
+        List<Object[]> rows = new ArrayList<>();
+        LocalDateTime debut = LocalDateTime.now().minusDays(30);
+        for (Long id : ids) {
+            for (int c = 0; c < commentairesParArticle; c++) {
+                rows.add(new Object[]{phrase(random, 15), "Lecteur " + random.nextInt(500),
+                        Timestamp.valueOf(debut.plusMinutes(c)), id});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO commentaires (contenu, auteur, date_creation, article_id) " +
+                "VALUES (?, ?, ?, ?)", rows);
+        jdbcTemplate.update("UPDATE articles SET nombre_commentaires = ?", commentairesParArticle);
+
+        // L'import relance la reconstruction de l'index de recherche en arrière-plan
+        ArticleSearchIndex searchIndex = context.getBean(ArticleSearchIndex.class);
+        long limite = System.currentTimeMillis() + 120_000;
+        while (searchIndex.size() < articles && System.currentTimeMillis() < limite) {
+            Thread.sleep(50);
+        }
+    }
+
+    static Article article(int i, SplittableRandom random, int tailleContenu) {
+        LocalDateTime publication = LocalDateTime.now().minusMinutes(i);
+        return Article.builder()
+                .id((long) i + 1)
+                .titre(phrase(random, 8) + " " + i)
+                .contenu(texte(random, tailleContenu))
+                .auteur("Auteur " + random.nextInt(50))
+                .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                .resume(phrase(random, 25))
+                .datePublication(publication)
+                .nombreVues(random.nextInt(10_000))
+                .nombreLikes(random.nextInt(500))
+                .nombreCommentaires(20)
+                .estPublie(true)
+                .version(0L)
+                .build();
+    }
+
+    static Commentaire commentaire(long id, SplittableRandom random) {
+        Commentaire commentaire = new Commentaire(phrase(random, 15), "Lecteur " + random.nextInt(500));
+        commentaire.setId(id);
+        commentaire.setVersion(0L);
+        return commentaire;
+    }
+
+    static String phrase(SplittableRandom random, int mots) {
+        StringBuilder phrase = new StringBuilder();
+        for (int i = 0; i < mots; i++) {
+            if (i > 0) {
+                phrase.append(' ');
+            }
+            phrase.append(MOTS[random.nextInt(MOTS.length)]);
+        }
+        return phrase.toString();
+    }
+
+    private static String texte(SplittableRandom random, int caracteres) {
+        StringBuilder texte = new StringBuilder(caracteres + 16);
+        while (texte.length() < caracteres) {
+            texte.append(MOTS[random.nextInt(MOTS.length)]).append(random.nextInt(12) == 0 ? ". " : " ");
+        }
+        return texte.substring(0, caracteres);
+    }
+}
@@ -0,0 +1,108 @@
+package com.blog_api.bench;
+
+import com.blog_api.Model.Article;
+import com.blog_api.Model.Commentaire;
+import com.blog_api.Service.ArticleJsonCache;
+import com.blog_api.dto.ArticleSummaryDTO;
+import com.blog_api.dto.CommentaireDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Sérialisation Jackson : entité complète contre projection, pages de 20, et corps pré-encodé (ArticleJsonCache)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"2000", "20000"})
+    private int tailleContenu;
+
+    // Même configuration que l'ObjectMapper de Spring Boot pour les dates
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private Article article;
+    private String etag;
+    private ArticleJsonCache jsonCache;
+    private List<Article> pageArticles;
+    private List<ArticleSummaryDTO> pageSummaries;
+    private List<Commentaire> commentaires;
+    private List<CommentaireDTO> commentairesDto;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        article = BenchmarkCorpus.article(0, random, tailleContenu);
+        etag = "\"0\"";
+        jsonCache = new ArticleJsonCache(objectMapper, new SimpleMeterRegistry(), 64L << 20, 1024);
+        pageArticles = IntStream.range(0, 20)
+                .mapToObj(i -> BenchmarkCorpus.article(i, random, tailleContenu))
+                .toList();
+        pageSummaries = pageArticles.stream()
+                .map(a -> new ArticleSummaryDTO(a.getId(), a.getTitre(), a.getResume(), a.getSlug(), a.getAuteur(),
+                        a.getCategory(), a.getDatePublication(), a.getDateModification(), a.getNombreVues(),
+                        a.getNombreLikes(), a.getNombreCommentaires()))
+                .toList();
+        commentaires = IntStream.range(0, 20)
+                .mapToObj(i -> BenchmarkCorpus.commentaire(i + 1, random))
+                .toList();
+        commentairesDto = commentaires.stream()
+                .map(c -> new CommentaireDTO(c.getId(), c.getAuteur(), c.getContenu(), c.getDateCreation(),
+                        c.getDateModification()))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] articleEntity() throws Exception {
+        return objectMapper.writeValueAsBytes(article);
+    }
+
+    @Benchmark
+    public byte[] articlePreEncoded() {
+        return jsonCache.get(article, etag).json();
+    }
+
+    @Benchmark
+    public byte[] articlePageEntities() throws Exception {
+        return objectMapper.writeValueAsBytes(pageArticles);
+    }
+
+    @Benchmark
+    public byte[] articlePageSummaries() throws Exception {
+        return objectMapper.writeValueAsBytes(pageSummaries);
+    }
+
+    @Benchmark
+    public byte[] commentairesEntities() throws Exception {
+        return objectMapper.writeValueAsBytes(commentaires);
+    }
+
+    @Benchmark
+    public byte[] commentairesDtos() throws Exception {
+        return objectMapper.writeValueAsBytes(commentairesDto);
+    }
+}
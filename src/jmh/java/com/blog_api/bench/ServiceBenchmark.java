@@ -0,0 +1,121 @@
+package com.blog_api.bench;
+
+import com.blog_api.Model.Article;
+import com.blog_api.Model.Commentaire;
+import com.blog_api.Repository.ArticleRepository;
+import com.blog_api.Service.ArticleService;
+import com.blog_api.Service.CommentaireService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Chemins de service principaux sur un corpus seedé en H2 : lectures (cache et base), recherche,
+// listes paginées, fil de commentaires et écritures. La taille du corpus se règle par -p articles=...
+//
+//   ./mvnw -Pjmh -DskipTests verify -Djmh.includes=ServiceBenchmark -Djmh.args="-p articles=50000"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({"1000", "10000"})
+    private int articles;
+
+    @Param({"20"})
+    private int commentairesParArticle;
+
+    private ConfigurableApplicationContext context;
+    private ArticleService articleService;
+    private CommentaireService commentaireService;
+    private ArticleRepository articleRepository;
+    private Long[] ids;
+    private String[] slugs;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkCorpus.start("bench-service-" + articles);
+        BenchmarkCorpus.seed(context, articles, commentairesParArticle);
+        articleService = context.getBean(ArticleService.class);
+        commentaireService = context.getBean(CommentaireService.class);
+        articleRepository = context.getBean(ArticleRepository.class);
+        List<Object[]> rows = context.getBean(JdbcTemplate.class).query("SELECT id, slug FROM articles ORDER BY id",
+                (rs, i) -> new Object[]{rs.getLong(1), rs.getString(2)});
+        ids = rows.stream().map(row -> (Long) row[0]).toArray(Long[]::new);
+        slugs = rows.stream().map(row -> (String) row[1]).toArray(String[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Article getArticleCached() {
+        return articleService.getArticleById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public Object findArticleFromDatabase() {
+        return articleRepository.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public Article getArticleBySlug() {
+        return articleService.getArticleBySlug(slugs[ThreadLocalRandom.current().nextInt(slugs.length)]);
+    }
+
+    @Benchmark
+    public Object searchArticles() {
+        return articleService.searchArticles("cache latence", 0, 10);
+    }
+
+    @Benchmark
+    public Object listFirstPage() {
+        return articleService.getPage(null, 20);
+    }
+
+    @Benchmark
+    public Object listByAuthor() {
+        return articleService.getArticlesByAuthor("Auteur " + ThreadLocalRandom.current().nextInt(50));
+    }
+
+    @Benchmark
+    public Object listCommentaires() {
+        return commentaireService.getCommentairesByArticle(ids[ThreadLocalRandom.current().nextInt(ids.length)],
+                null, 20);
+    }
+
+    @Benchmark
+    public Article createArticle() {
+        return articleService.create(Article.builder()
+                .titre("Benchmark " + System.nanoTime())
+                .contenu("contenu")
+                .category(BenchmarkCorpus.CATEGORIES[0])
+                .build());
+    }
+
+    @Benchmark
+    public Commentaire ajouterCommentaire() {
+        return commentaireService.ajouterCommentaire(ids[ThreadLocalRandom.current().nextInt(ids.length)],
+                new Commentaire("Commentaire de benchmark", "Bench"));
+    }
+}
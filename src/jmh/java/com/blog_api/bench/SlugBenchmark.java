@@ -0,0 +1,52 @@
+package com.blog_api.bench;
+
+import com.blog_api.Util.SlugGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Génération de slug : ancienne chaîne de replaceAll contre le générateur en une passe
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlugBenchmark {
+
+    private static final String[] TITRES = {
+            "Été 2024 : les nouveautés de Spring Boot 3.4",
+            "Comment écrire un cœur de moteur de recherche en Java ?",
+            "Les 10 erreurs à éviter lors d'une migration vers PostgreSQL",
+            "Réflexions sur l'œuvre de Molière — théâtre & société",
+            "Déployer une API REST sécurisée avec Docker, Kubernetes et Helm",
+            "Pourquoi les threads virtuels changent la donne pour les applications bloquantes",
+    };
+
+    @Benchmark
+    public void legacyRegexChain(Blackhole blackhole) {
+        for (String titre : TITRES) {
+            blackhole.consume(titre.toLowerCase()
+                    .replaceAll("[^a-z0-9\\s-]", "")
+                    .replaceAll("\\s+", "-")
+                    .replaceAll("-+", "-")
+                    .trim());
+        }
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole blackhole) {
+        for (String titre : TITRES) {
+            blackhole.consume(SlugGenerator.slugify(titre));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Compare les lectures à forte concurrence entre l'API v1 (MVC + JPA) et l'API v2 (R2DBC, flux NDJSON)
+# sur une instance déjà démarrée : mêmes pages (accueil, catégorie, fil de commentaires), même charge.
+# Les pages catégorie de v1 passent par le cache Caffeine : démarrer l'instance avec
+# --spring.cache.type=none pour ne comparer que les deux piles d'accès à la base.
+#
+#   URL=http://localhost:8082 CONCURRENCY=1000 ARTICLE=1 CATEGORY=tech src/loadtest/compare-api-versions.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+URL=${URL:-http://localhost:8082}
+CONCURRENCY=${CONCURRENCY:-1000}
+DURATION=${DURATION:-30}
+ARTICLE=${ARTICLE:-1}
+CATEGORY=${CATEGORY:-tech}
+REPORT=target/loadtest-api-versions.ndjson
+rm -f "$REPORT"
+
+run() {
+  ./mvnw -q -Ploadtest -DskipTests verify -Dloadtest.url="$URL" -Dloadtest.concurrency="$CONCURRENCY" \
+    -Dloadtest.duration="$DURATION" -Dloadtest.report="$REPORT" "$@"
+}
+
+run -Dloadtest.label=v1 -Dloadtest.accept=application/json \
+  -Dloadtest.paths="/api/v1/articles?size=10,/api/v1/articles/categorie/$CATEGORY,/api/articles/$ARTICLE/commentaires?size=100"
+run -Dloadtest.label=v2 -Dloadtest.accept=application/x-ndjson \
+  -Dloadtest.paths="/api/v2/articles?limit=10,/api/v2/articles/categorie/$CATEGORY,/api/v2/articles/$ARTICLE/commentaires"
+
+echo "Résultats ($REPORT) :"
+cat "$REPORT"
@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# Compare débit et latence p99 entre threads système (mode par défaut) et threads virtuels (profil "virtual").
+# Démarre l'application deux fois sur la même base, lance le test de charge contre chacune puis affiche
+# les deux résumés. Pour reproduire une base lente, faire pointer DB_URL vers un proxy qui ajoute de la
+# latence (toxiproxy, tc netem...).
+#
+#   DB_URL=jdbc:postgresql://localhost:5432/BlogDB CONCURRENCY=800 src/loadtest/compare-thread-modes.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+PORT=${PORT:-8082}
+CONCURRENCY=${CONCURRENCY:-400}
+DURATION=${DURATION:-30}
+REPORT=target/loadtest-thread-modes.ndjson
+DB_ARGS=()
+if [[ -n "${DB_URL:-}" ]]; then
+  DB_ARGS+=("--spring.datasource.url=$DB_URL")
+fi
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/*.jar | grep -v original | head -1)
+rm -f "$REPORT"
+
+for mode in platform virtual; do
+  profile=()
+  if [[ $mode == virtual ]]; then
+    profile=(--spring.profiles.active=virtual)
+  fi
+  java -jar "$JAR" --server.port="$PORT" "${profile[@]}" "${DB_ARGS[@]}" > "target/loadtest-$mode.log" 2>&1 &
+  app=$!
+  trap 'kill $app 2>/dev/null || true' EXIT
+  until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do sleep 1; done
+
+  ./mvnw -q -Ploadtest -DskipTests verify -Dloadtest.url="http://localhost:$PORT" \
+    -Dloadtest.concurrency="$CONCURRENCY" -Dloadtest.duration="$DURATION" \
+    -Dloadtest.label="$mode" -Dloadtest.report="$REPORT"
+
+  kill $app
+  wait $app 2>/dev/null || true
+done
+
+echo "Résultats ($REPORT) :"
+cat "$REPORT"
@@ -0,0 +1,148 @@
+package com.blog_api.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Test de charge en boucle fermée contre une instance déjà démarrée : N clients enchaînent les requêtes
+// GET sur les chemins donnés pendant la durée de mesure, après une phase de chauffe non comptée.
+// Affiche le débit et les latences p50/p99/max, et écrit le même résumé en JSON (--report=...).
+// Options : --url --concurrency --warmup --duration (secondes) --paths (séparés par des virgules)
+// --accept --label --report ; la latence mesurée va jusqu'à la fin du corps de la réponse.
+//
+//   ./mvnw -Ploadtest -DskipTests verify -Dloadtest.url=http://localhost:8082 -Dloadtest.concurrency=400
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("url", "http://localhost:8082");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        String label = options.getOrDefault("label", "run");
+        String accept = options.getOrDefault("accept", "application/json");
+        List<String> paths = Arrays.asList(options.getOrDefault("paths",
+                "/api/v1/articles?size=20,/api/v1/articles/recents,/api/v1/articles/1,/api/articles/1/commentaires")
+                .split(","));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        List<URI> uris = paths.stream().map(path -> URI.create(baseUrl + path.trim())).toList();
+
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Recorder> recorders = new ArrayList<>();
+
+        System.out.printf("[%s] %d clients, chauffe %ds, mesure %ds sur %s%n",
+                label, concurrency, warmup.toSeconds(), duration.toSeconds(), baseUrl);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                Recorder recorder = new Recorder();
+                recorders.add(recorder);
+                int offset = i;
+                clients.submit(() -> {
+                    int n = offset;
+                    while (true) {
+                        long start = System.nanoTime();
+                        if (start >= end) {
+                            return null;
+                        }
+                        URI uri = uris.get(n++ % uris.size());
+                        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30))
+                                .header("Accept", accept).GET().build();
+                        boolean ok;
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            ok = response.statusCode() < 500;
+                        } catch (IOException e) {
+                            ok = false;
+                        }
+                        if (start >= warmupEnd) {
+                            if (ok) {
+                                recorder.add(System.nanoTime() - start);
+                            } else {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    }
+                });
+            }
+        }
+
+        long[] latencies = recorders.stream().map(Recorder::toArray).flatMapToLong(Arrays::stream).sorted().toArray();
+        double seconds = duration.toNanos() / 1e9;
+        String summary = String.format(Locale.ROOT,
+                "{\"label\":\"%s\",\"concurrency\":%d,\"requests\":%d,\"errors\":%d,\"throughput\":%.1f," +
+                        "\"p50Ms\":%.2f,\"p99Ms\":%.2f,\"maxMs\":%.2f}",
+                label, concurrency, latencies.length, errors.get(), latencies.length / seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.99),
+                latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6);
+        System.out.println(summary);
+        String report = options.get("report");
+        if (report != null) {
+            Files.writeString(Path.of(report), summary + System.lineSeparator(),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int separator = arg.indexOf('=');
+                String value = arg.substring(separator + 1);
+                // Propriété Maven non renseignée : on garde la valeur par défaut
+                if (!value.isBlank()) {
+                    options.put(arg.substring(2, separator), value);
+                }
+            }
+        }
+        return options;
+    }
+
+    // Latences d'un client, sans synchronisation : un seul thread écrit
+    private static final class Recorder {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
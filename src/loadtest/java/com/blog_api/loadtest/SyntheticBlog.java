@@ -0,0 +1,161 @@
+package com.blog_api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Jeu de données synthétique reproductible (graine fixe) et son chargement par l'API elle-même :
+// articles par l'import NDJSON, commentaires par la file d'écriture différée, puis relecture des
+// identifiants par l'export. Fonctionne donc aussi contre une instance PostgreSQL déjà démarrée.
+final class SyntheticBlog {
+
+    static final String[] CATEGORIES = {"Technologie", "Java", "Bases de données", "Architecture",
+            "Sécurité", "Cloud", "Front-end", "Carrière"};
+
+    // Dictionnaire commun au contenu généré et aux recherches : les requêtes trouvent des résultats
+    static final String[] MOTS = {"spring", "java", "postgresql", "index", "requête", "cache",
+            "thread", "virtuel", "latence", "débit", "mémoire", "réseau", "sérialisation", "json", "api",
+            "transaction", "verrou", "pagination", "curseur", "recherche", "commentaire", "article",
+            "performance", "profilage", "conteneur", "déploiement", "sécurité", "migration", "schéma", "flux"};
+
+    private static final int LOT_IMPORT = 1000;
+    private static final int ENVOIS_SIMULTANES = 64;
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+
+    SyntheticBlog(HttpClient client, String baseUrl, ObjectMapper objectMapper) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+    }
+
+    void seed(int articles, int commentairesParArticle, SplittableRandom random) throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < articles; i++) {
+            ndjson.append(objectMapper.writeValueAsString(article(i, random))).append('\n');
+            if ((i + 1) % LOT_IMPORT == 0 || i == articles - 1) {
+                HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/api/v1/articles/import"))
+                                .header("Content-Type", "application/x-ndjson")
+                                .POST(HttpRequest.BodyPublishers.ofString(ndjson.toString()))
+                                .build(),
+                        HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException("Import refusé (" + response.statusCode() + ") : " + response.body());
+                }
+                ndjson.setLength(0);
+            }
+        }
+        System.out.printf("%d articles importés%n", articles);
+        if (commentairesParArticle == 0) {
+            return;
+        }
+
+        // Commentaires par la file différée : insérés par lots côté serveur, quelques requêtes en vol
+        List<Long> ids = articleIds();
+        AtomicLong refus = new AtomicLong();
+        Semaphore enVol = new Semaphore(ENVOIS_SIMULTANES);
+        try (ExecutorService envois = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Long id : ids.subList(Math.max(0, ids.size() - articles), ids.size())) {
+                for (int c = 0; c < commentairesParArticle; c++) {
+                    String body = objectMapper.writeValueAsString(commentaire(random));
+                    enVol.acquire();
+                    envois.submit(() -> {
+                        try {
+                            HttpResponse<Void> response = client.send(jsonRequest(
+                                    "/api/articles/" + id + "/commentaires/asynchrone", "POST", body),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                refus.incrementAndGet();
+                            }
+                        } finally {
+                            enVol.release();
+                        }
+                        return null;
+                    });
+                }
+            }
+        }
+        System.out.printf("%d commentaires envoyés (%d refusés)%n",
+                (long) Math.min(ids.size(), articles) * commentairesParArticle, refus.get());
+    }
+
+    // Identifiants de tous les articles présents, lus en flux depuis l'export NDJSON
+    List<Long> articleIds() throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = client.send(HttpRequest.newBuilder(uri("/api/v1/articles/export"))
+                        .timeout(Duration.ofMinutes(5)).GET().build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        List<Long> ids = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    JsonNode article = objectMapper.readTree(line);
+                    ids.add(article.path("id").asLong());
+                }
+            }
+        }
+        return ids;
+    }
+
+    ObjectNode article(int i, SplittableRandom random) {
+        ObjectNode article = objectMapper.createObjectNode();
+        article.put("titre", phrase(random, 6) + " " + i);
+        article.put("contenu", phrase(random, 300));
+        article.put("auteur", "Auteur " + random.nextInt(50));
+        article.put("category", CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        article.put("resume", phrase(random, 20));
+        article.put("estPublie", true);
+        return article;
+    }
+
+    ObjectNode commentaire(SplittableRandom random) {
+        ObjectNode commentaire = objectMapper.createObjectNode();
+        commentaire.put("contenu", phrase(random, 15));
+        commentaire.put("auteur", "Lecteur " + random.nextInt(500));
+        return commentaire;
+    }
+
+    HttpRequest jsonRequest(String path, String method, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    static String phrase(SplittableRandom random, int mots) {
+        StringBuilder phrase = new StringBuilder();
+        for (int i = 0; i < mots; i++) {
+            if (i > 0) {
+                phrase.append(' ');
+            }
+            phrase.append(MOTS[random.nextInt(MOTS.length)]);
+        }
+        return phrase.toString();
+    }
+}
@@ -0,0 +1,408 @@
+package com.blog_api.loadtest;
+
+import com.blog_api.BlogApiApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Test de charge en modèle ouvert reproduisant la forme du trafic de production : les requêtes arrivent
+// selon un processus de Poisson au débit --rate, indépendamment des réponses (contrairement à LoadTest,
+// en boucle fermée), et la latence est mesurée depuis l'instant d'arrivée prévu : une instance saturée
+// voit donc sa file d'attente dans les percentiles au lieu de ralentir le générateur.
+//
+// Mélange (--mix, poids relatifs) :
+//   lecture       GET article, identifiant tiré selon une loi de Zipf (--zipf) : quelques articles chauds
+//   fil           GET fil de commentaires, même loi
+//   recherche     GET recherche, un à trois mots du dictionnaire du jeu de données
+//   commentaire   rafale de --burst POST de commentaires sur un article chaud
+//   modification  PUT d'un article (titre et contenu régénérés)
+//
+// --boot=h2 démarre l'application dans ce processus sur H2 (port aléatoire), sinon --url vise une instance
+// déjà démarrée (PostgreSQL par exemple). --articles et --comments génèrent le jeu de données (0 : ne rien
+// créer et utiliser les articles présents). Rapport JSON par endpoint (débit, p50/p99/p999) : --report.
+//
+//   ./mvnw -Pworkload -DskipTests verify -Dworkload.boot=h2 -Dworkload.articles=10000 -Dworkload.rate=500
+public final class WorkloadTest {
+
+    private static final String DEFAULT_MIX = "lecture:60,fil:15,recherche:15,commentaire:7,modification:3";
+
+    private WorkloadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String boot = options.getOrDefault("boot", "none");
+        int articles = Integer.parseInt(options.getOrDefault("articles", "1000"));
+        int commentaires = Integer.parseInt(options.getOrDefault("comments", "5"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        double exponent = Double.parseDouble(options.getOrDefault("zipf", "1.1"));
+        int burst = Integer.parseInt(options.getOrDefault("burst", "5"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "10000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        String label = options.getOrDefault("label", "workload");
+        Map<Operation, Integer> mix = mix(options.getOrDefault("mix", DEFAULT_MIX));
+
+        ConfigurableApplicationContext application = null;
+        String baseUrl = options.getOrDefault("url", "http://localhost:8082");
+        if ("h2".equals(boot)) {
+            application = bootH2();
+            baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+        } else if (!"none".equals(boot)) {
+            throw new IllegalArgumentException("--boot : h2 ou none");
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        SyntheticBlog blog = new SyntheticBlog(client, baseUrl, objectMapper);
+        SplittableRandom random = new SplittableRandom(seed);
+        try {
+            if (articles > 0) {
+                blog.seed(articles, commentaires, random.split());
+            }
+            List<Long> ids = new ArrayList<>(blog.articleIds());
+            if (ids.isEmpty()) {
+                throw new IllegalStateException("Aucun article sur " + baseUrl + " : lancer avec --articles=N");
+            }
+            // Rangs de popularité répartis au hasard : les articles chauds ne sont pas tous les plus récents
+            Collections.shuffle(ids, new Random(seed));
+
+            Run run = new Run(client, blog, ids, new ZipfDistribution(ids.size(), exponent), mix, burst,
+                    random.split(), maxInFlight);
+            System.out.printf("[%s] %.0f req/s en modèle ouvert, chauffe %ds, mesure %ds, %d articles sur %s%n",
+                    label, rate, warmup.toSeconds(), duration.toSeconds(), ids.size(), baseUrl);
+            run.drive(rate, warmup, duration);
+
+            ObjectNode report = objectMapper.createObjectNode();
+            ObjectNode configuration = report.putObject("configuration");
+            configuration.put("label", label);
+            configuration.put("target", baseUrl);
+            configuration.put("boot", boot);
+            configuration.put("articles", ids.size());
+            configuration.put("rate", rate);
+            configuration.put("warmupSeconds", warmup.toSeconds());
+            configuration.put("durationSeconds", duration.toSeconds());
+            configuration.put("zipf", exponent);
+            configuration.put("burst", burst);
+            configuration.put("mix", options.getOrDefault("mix", DEFAULT_MIX));
+            configuration.put("seed", seed);
+            run.report(report, duration);
+            run.print(duration);
+
+            String reportPath = options.get("report");
+            if (reportPath != null) {
+                Path path = Path.of(reportPath);
+                if (path.toAbsolutePath().getParent() != null) {
+                    Files.createDirectories(path.toAbsolutePath().getParent());
+                }
+                objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+                System.out.println("Rapport : " + path);
+            }
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    // Même réglage que les tests : H2 en mode PostgreSQL, schéma créé par les migrations Flyway.
+    // Le générateur partage alors le processeur avec l'application : à réserver aux comparaisons relatives.
+    private static ConfigurableApplicationContext bootH2() {
+        String h2 = "workload;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+        return SpringApplication.run(BlogApiApplication.class,
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.datasource.url=jdbc:h2:mem:" + h2,
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///" + h2,
+                "--spring.r2dbc.username=sa",
+                "--spring.r2dbc.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--blog.comments.journal=target/workload-commentaires.ndjson");
+    }
+
+    enum Operation {
+        LECTURE, FIL, RECHERCHE, COMMENTAIRE, MODIFICATION
+    }
+
+    // Un tir : arrivées générées par un seul thread (tirages reproductibles), requêtes envoyées chacune
+    // dans son thread virtuel pour ne jamais retarder les arrivées suivantes
+    private static final class Run {
+
+        private final HttpClient client;
+        private final SyntheticBlog blog;
+        private final List<Long> ids;
+        private final ZipfDistribution zipf;
+        private final Operation[] tirage;
+        private final int burst;
+        private final SplittableRandom random;
+        private final int maxInFlight;
+        private final Map<String, Recorder> endpoints = new ConcurrentHashMap<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong revisions = new AtomicLong();
+        private volatile long measureFrom;
+
+        Run(HttpClient client, SyntheticBlog blog, List<Long> ids, ZipfDistribution zipf, Map<Operation, Integer> mix,
+            int burst, SplittableRandom random, int maxInFlight) {
+            this.client = client;
+            this.blog = blog;
+            this.ids = ids;
+            this.zipf = zipf;
+            this.burst = burst;
+            this.random = random;
+            this.maxInFlight = maxInFlight;
+            List<Operation> operations = new ArrayList<>();
+            mix.forEach((operation, poids) -> operations.addAll(Collections.nCopies(poids, operation)));
+            this.tirage = operations.toArray(Operation[]::new);
+        }
+
+        void drive(double rate, Duration warmup, Duration duration) {
+            long start = System.nanoTime();
+            measureFrom = start + warmup.toNanos();
+            long end = measureFrom + duration.toNanos();
+            double meanGapNanos = 1e9 / rate;
+            try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+                long arrival = start;
+                while (true) {
+                    // Intervalles exponentiels : arrivées de Poisson
+                    arrival += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+                    if (arrival >= end) {
+                        break;
+                    }
+                    long wait = arrival - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    for (Request request : next()) {
+                        if (inFlight.incrementAndGet() > maxInFlight) {
+                            inFlight.decrementAndGet();
+                            if (arrival >= measureFrom) {
+                                dropped.incrementAndGet();
+                            }
+                            continue;
+                        }
+                        long scheduled = arrival;
+                        senders.submit(() -> send(request, scheduled));
+                    }
+                }
+            }
+        }
+
+        private List<Request> next() {
+            Operation operation = tirage[random.nextInt(tirage.length)];
+            long id = ids.get(zipf.sample(random));
+            return switch (operation) {
+                case LECTURE -> List.of(new Request("GET /api/v1/articles/{id}",
+                        get("/api/v1/articles/" + id)));
+                case FIL -> List.of(new Request("GET /api/articles/{id}/commentaires",
+                        get("/api/articles/" + id + "/commentaires?size=20")));
+                case RECHERCHE -> {
+                    String keyword = SyntheticBlog.phrase(random, 1 + random.nextInt(3));
+                    yield List.of(new Request("GET /api/v1/articles/recherche",
+                            get("/api/v1/articles/recherche?keyword=" + URLEncoder.encode(keyword, StandardCharsets.UTF_8))));
+                }
+                case COMMENTAIRE -> {
+                    List<Request> rafale = new ArrayList<>(burst);
+                    for (int i = 0; i < burst; i++) {
+                        rafale.add(new Request("POST /api/articles/{id}/commentaires", blog.jsonRequest(
+                                "/api/articles/" + id + "/commentaires", "POST",
+                                blog.commentaire(random).toString())));
+                    }
+                    yield rafale;
+                }
+                case MODIFICATION -> {
+                    long revision = revisions.incrementAndGet();
+                    ObjectNode article = blog.article((int) revision, random);
+                    article.put("titre", "Révision " + revision + " de l'article " + id);
+                    yield List.of(new Request("PUT /api/v1/articles/{id}",
+                            blog.jsonRequest("/api/v1/articles/" + id, "PUT", article.toString())));
+                }
+            };
+        }
+
+        private Object send(Request request, long scheduled) {
+            boolean ok;
+            try {
+                HttpResponse<Void> response = client.send(request.http(), HttpResponse.BodyHandlers.discarding());
+                ok = response.statusCode() < 400;
+            } catch (IOException | InterruptedException e) {
+                ok = false;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            if (scheduled >= measureFrom) {
+                Recorder recorder = endpoints.computeIfAbsent(request.endpoint(), endpoint -> new Recorder());
+                if (ok) {
+                    recorder.add(System.nanoTime() - scheduled);
+                } else {
+                    recorder.error();
+                }
+            }
+            return null;
+        }
+
+        private HttpRequest get(String path) {
+            return HttpRequest.newBuilder(blog.uri(path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+        }
+
+        void report(ObjectNode report, Duration duration) {
+            double seconds = duration.toNanos() / 1e9;
+            List<long[]> all = new ArrayList<>();
+            long errors = 0;
+            ObjectNode perEndpoint = report.objectNode();
+            for (Map.Entry<String, Recorder> entry : new TreeMap<>(endpoints).entrySet()) {
+                long[] latencies = entry.getValue().sorted();
+                all.add(latencies);
+                errors += entry.getValue().errors();
+                write(perEndpoint.putObject(entry.getKey()), latencies, entry.getValue().errors(), seconds);
+            }
+            long[] total = all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            ObjectNode totals = write(report.putObject("total"), total, errors, seconds);
+            totals.put("dropped", dropped.get());
+            report.set("endpoints", perEndpoint);
+        }
+
+        void print(Duration duration) {
+            double seconds = duration.toNanos() / 1e9;
+            System.out.printf(Locale.ROOT, "%-42s %9s %7s %9s %9s %9s %9s%n",
+                    "endpoint", "requêtes", "erreurs", "req/s", "p50 ms", "p99 ms", "p999 ms");
+            for (Map.Entry<String, Recorder> entry : new TreeMap<>(endpoints).entrySet()) {
+                long[] latencies = entry.getValue().sorted();
+                System.out.printf(Locale.ROOT, "%-42s %9d %7d %9.1f %9.2f %9.2f %9.2f%n", entry.getKey(),
+                        latencies.length, entry.getValue().errors(), latencies.length / seconds,
+                        percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999));
+            }
+            if (dropped.get() > 0) {
+                System.out.printf("%d arrivées abandonnées (plus de requêtes en vol que --max-in-flight)%n",
+                        dropped.get());
+            }
+        }
+
+        private static ObjectNode write(ObjectNode node, long[] sorted, long errors, double seconds) {
+            node.put("requests", sorted.length);
+            node.put("errors", errors);
+            node.put("throughput", round(sorted.length / seconds));
+            node.put("p50Ms", round(percentile(sorted, 0.50)));
+            node.put("p99Ms", round(percentile(sorted, 0.99)));
+            node.put("p999Ms", round(percentile(sorted, 0.999)));
+            node.put("maxMs", round(sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6));
+            return node;
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+
+    private record Request(String endpoint, HttpRequest http) {
+    }
+
+    // Latences d'un endpoint, alimentées par de nombreux threads virtuels
+    private static final class Recorder {
+        private long[] values = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        synchronized void error() {
+            errors++;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static Map<Operation, Integer> mix(String spec) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] entry = part.trim().split(":");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("--mix attend operation:poids, reçu : " + part);
+            }
+            int poids = Integer.parseInt(entry[1].trim());
+            if (poids > 0) {
+                mix.put(Operation.valueOf(entry[0].trim().toUpperCase(Locale.ROOT)), poids);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("--mix ne contient aucune opération");
+        }
+        return mix;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int separator = arg.indexOf('=');
+                String value = arg.substring(separator + 1);
+                // Propriété Maven non renseignée : on garde la valeur par défaut
+                if (!value.isBlank()) {
+                    options.put(arg.substring(2, separator), value);
+                }
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,32 @@
+package com.blog_api.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Loi de Zipf sur les rangs 0..n-1 : P(rang k) proportionnel à 1 / (k + 1)^exposant.
+// Table cumulative calculée une fois, tirage par recherche dichotomique (O(log n)).
+final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    ZipfDistribution(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Au moins un élément est nécessaire");
+        }
+        cumulative = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            total += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= total;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
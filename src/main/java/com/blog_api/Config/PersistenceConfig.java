@@ -0,0 +1,109 @@
+package com.blog_api.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// JPA (API v1) et R2DBC (API v2) côte à côte sur les mêmes tables.
+// Dès qu'un ConnectionFactory R2DBC existe, Spring Boot n'auto-configure plus la DataSource JDBC, et le
+// gestionnaire de transactions R2DBC empêcherait celui de JPA : les deux sont donc déclarés ici, le
+// gestionnaire JPA restant celui des @Transactional bloquants.
+//
+// Avec blog.datasource.replica.urls, les transactions @Transactional(readOnly = true) lisent sur les
+// réplicas : la DataSource principale devient un LazyConnectionDataSourceProxy qui n'ouvre la connexion
+// qu'au premier ordre SQL, une fois le mode lecture seule posé par Hibernate, et la prend alors dans
+// ReplicaRoutingDataSource. Les écritures, Flyway et les accès JdbcTemplate hors transaction restent
+// sur le primaire.
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+@EnableJpaRepositories(basePackages = "com.blog_api.Repository")
+@EnableR2dbcRepositories(basePackages = "com.blog_api.Reactive")
+public class PersistenceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ObjectProvider<ReplicaRoutingDataSource> replicaDataSource) {
+        ReplicaRoutingDataSource replicas = replicaDataSource.getIfAvailable();
+        if (replicas == null) {
+            return primaryDataSource;
+        }
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(replicas);
+        return proxy;
+    }
+
+    @Bean
+    @ConditionalOnProperty("blog.datasource.replica.urls")
+    public ReplicaRoutingDataSource replicaDataSource(
+            DataSourceProperties properties, HikariDataSource primaryDataSource, ReadYourWrites readYourWrites,
+            MeterRegistry registry,
+            @Value("${blog.datasource.replica.urls}") List<String> urls,
+            @Value("${blog.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${blog.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${blog.datasource.replica.pool-size:10}") int poolSize,
+            @Value("${blog.datasource.replica.balancing:round-robin}") String balancing,
+            @Value("${blog.datasource.replica.max-lag-ms:1000}") long maxLagMs,
+            @Value("${blog.datasource.replica.lag-query}") String lagQuery) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url.trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(replicas, primaryDataSource, readYourWrites,
+                ReplicaRoutingDataSource.Balancing.valueOf(balancing.toUpperCase(Locale.ROOT).replace('-', '_')),
+                maxLagMs, lagQuery, registry);
+    }
+
+    @Bean
+    @Primary
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                    ReadYourWrites readYourWrites) {
+        return new JpaTransactionManager(entityManagerFactory) {
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+                super.doCommit(status);
+                if (!status.isReadOnly()) {
+                    readYourWrites.recordWrite();
+                }
+            }
+        };
+    }
+}
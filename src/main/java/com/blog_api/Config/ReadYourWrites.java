@@ -0,0 +1,81 @@
+package com.blog_api.Config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Lecture de ses propres écritures quand les lectures partent sur des réplicas : après une transaction
+// d'écriture validée, les lectures de la même requête HTTP restent sur le primaire, ainsi que celles de la
+// même session cliente (en-tête blog.datasource.replica.session-header) pendant blog.datasource.replica.sticky-ms,
+// le temps que les réplicas rejouent l'écriture. Consulté par ReplicaRoutingDataSource.
+@Component
+public class ReadYourWrites extends OncePerRequestFilter {
+
+    private static final ThreadLocal<Requete> COURANTE = new ThreadLocal<>();
+
+    private final String sessionHeader;
+    private final Cache<String, Boolean> sessionsRecentes;
+
+    public ReadYourWrites(@Value("${blog.datasource.replica.session-header:X-Session-Id}") String sessionHeader,
+                          @Value("${blog.datasource.replica.sticky-ms:5000}") long stickyMs) {
+        this.sessionHeader = sessionHeader;
+        this.sessionsRecentes = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(stickyMs))
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        open(request.getHeader(sessionHeader));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            close();
+        }
+    }
+
+    public void open(String session) {
+        COURANTE.set(new Requete(session));
+    }
+
+    public void close() {
+        COURANTE.remove();
+    }
+
+    // Appelé après la validation d'une transaction d'écriture (PersistenceConfig)
+    public void recordWrite() {
+        Requete requete = COURANTE.get();
+        if (requete != null) {
+            requete.ecriture = true;
+            if (requete.session != null) {
+                sessionsRecentes.put(requete.session, Boolean.TRUE);
+            }
+        }
+    }
+
+    public boolean requiresPrimary() {
+        Requete requete = COURANTE.get();
+        return requete != null && (requete.ecriture
+                || requete.session != null && sessionsRecentes.getIfPresent(requete.session) != null);
+    }
+
+    private static final class Requete {
+        private final String session;
+        private boolean ecriture;
+
+        private Requete(String session) {
+            this.session = session;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.blog_api.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Source des connexions en lecture seule : répartit les transactions readOnly entre les réplicas
+// (tourniquet ou pool le moins chargé) et se replie sur le primaire quand la requête HTTP ou la session
+// vient d'écrire (ReadYourWrites), quand aucun réplica n'est à moins de maxLagMs de retard ou quand le
+// réplica choisi refuse la connexion. Branchée comme readOnlyDataSource du LazyConnectionDataSourceProxy
+// de PersistenceConfig : le choix se fait au premier ordre SQL, une fois le mode lecture seule connu.
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    public enum Balancing {
+        ROUND_ROBIN, LEAST_LOADED
+    }
+
+    private static final long RETARD_INCONNU = Long.MAX_VALUE;
+
+    private final List<Replica> replicas;
+    private final DataSource primary;
+    private final ReadYourWrites readYourWrites;
+    private final Balancing balancing;
+    private final long maxLagMs;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryReads;
+    private final Counter stickyReads;
+
+    public ReplicaRoutingDataSource(List<HikariDataSource> replicas, DataSource primary, ReadYourWrites readYourWrites,
+                                    Balancing balancing, long maxLagMs, String lagQuery, MeterRegistry registry) {
+        this.replicas = replicas.stream().map(dataSource -> new Replica(dataSource, registry)).toList();
+        this.primary = primary;
+        this.readYourWrites = readYourWrites;
+        this.balancing = balancing;
+        this.maxLagMs = maxLagMs;
+        this.lagQuery = lagQuery;
+        this.primaryReads = reads(registry, "primary", "fallback");
+        this.stickyReads = reads(registry, "primary", "sticky");
+        for (Replica replica : this.replicas) {
+            Gauge.builder("blog.datasource.replica.lag", replica, r -> r.lagMs == RETARD_INCONNU ? Double.NaN : r.lagMs)
+                    .description("Retard de réplication mesuré (ms), NaN si le réplica est injoignable")
+                    .tag("pool", replica.name())
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        }
+    }
+
+    private static Counter reads(MeterRegistry registry, String pool, String reason) {
+        return Counter.builder("blog.datasource.reads")
+                .description("Connexions en lecture seule par pool servi")
+                .tag("pool", pool)
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    // Identifiants explicites : même routage, transmis tels quels au pool retenu
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(Connect connect) throws SQLException {
+        if (readYourWrites.requiresPrimary()) {
+            stickyReads.increment();
+            return connect.from(primary);
+        }
+        Replica replica = choose();
+        if (replica != null) {
+            try {
+                Connection connection = connect.from(replica.dataSource);
+                replica.reads.increment();
+                return connection;
+            } catch (SQLFeatureNotSupportedException e) {
+                // Refus du pool lui-même (identifiants non modifiables), pas une panne du réplica
+                throw e;
+            } catch (SQLException e) {
+                // Écarté jusqu'à la prochaine mesure réussie
+                replica.lagMs = RETARD_INCONNU;
+                log.warn("Réplica {} indisponible, lecture sur le primaire : {}", replica.name(), e.getMessage());
+            }
+        }
+        primaryReads.increment();
+        return connect.from(primary);
+    }
+
+    private Replica choose() {
+        List<Replica> disponibles = replicas.stream().filter(replica -> replica.lagMs <= maxLagMs).toList();
+        if (disponibles.isEmpty()) {
+            return null;
+        }
+        return switch (balancing) {
+            case ROUND_ROBIN -> disponibles.get(Math.floorMod(next.getAndIncrement(), disponibles.size()));
+            case LEAST_LOADED -> disponibles.stream().min(Comparator.comparingInt(Replica::activeConnections)).orElseThrow();
+        };
+    }
+
+    // Mesure du retard de chaque réplica ; un réplica injoignable ou trop en retard ne reçoit plus de lectures
+    @Scheduled(fixedDelayString = "${blog.datasource.replica.lag-check-ms:1000}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            long previous = replica.lagMs;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(2);
+                try (ResultSet result = statement.executeQuery(lagQuery)) {
+                    replica.lagMs = result.next() ? Math.max(0, Math.round(result.getDouble(1) * 1000)) : 0;
+                }
+            } catch (SQLException e) {
+                replica.lagMs = RETARD_INCONNU;
+            }
+            boolean wasAvailable = previous <= maxLagMs;
+            boolean available = replica.lagMs <= maxLagMs;
+            if (wasAvailable != available) {
+                log.info("Réplica {} {} (retard : {})", replica.name(), available ? "en service" : "écarté",
+                        replica.lagMs == RETARD_INCONNU ? "injoignable" : replica.lagMs + " ms");
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    @FunctionalInterface
+    private interface Connect {
+        Connection from(DataSource dataSource) throws SQLException;
+    }
+
+    static final class Replica {
+        private final HikariDataSource dataSource;
+        private final Counter reads;
+        // Inconnu tant que la première mesure n'a pas eu lieu : le primaire sert les lectures d'ici là
+        private volatile long lagMs = RETARD_INCONNU;
+
+        private Replica(HikariDataSource dataSource, MeterRegistry registry) {
+            this.dataSource = dataSource;
+            this.reads = reads(registry, dataSource.getPoolName(), "replica");
+        }
+
+        String name() {
+            return dataSource.getPoolName();
+        }
+
+        private int activeConnections() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.blog_api.Controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+// Erreurs communes à tous les contrôleurs : les services signalent une saisie invalide (curseur illisible,
+// taille de page ou limite hors bornes, mot-clé vide...) par IllegalArgumentException, servie en 400
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail badRequest(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+}
@@ -1,7 +1,19 @@
 package com.blog_api.Controller;
 
 import com.blog_api.Model.Article;
+import com.blog_api.Service.ArticleBulkService;
+import com.blog_api.Service.ArticleCounterService;
+import com.blog_api.Service.ArticleJsonCache;
 import com.blog_api.Service.ArticleService;
+import com.blog_api.Service.PopularityLeaderboard;
+import com.blog_api.Util.EntityTags;
+import com.blog_api.dto.ArticleDetailDTO;
+import com.blog_api.dto.ArticleSummaryDTO;
+import com.blog_api.dto.ArticleVersionDTO;
+import com.blog_api.dto.BulkImportReportDTO;
+import com.blog_api.dto.CursorPage;
+import com.blog_api.dto.SearchResultDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -10,10 +22,19 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -22,9 +43,18 @@ import java.util.List;
 public class ArticleController {
 
     private final ArticleService articleService;
+    private final ArticleCounterService counterService;
+    private final ArticleBulkService bulkService;
+    private final ObjectMapper objectMapper;
+    private final ArticleJsonCache jsonCache;
 
-    public ArticleController(ArticleService articleService) {
+    public ArticleController(ArticleService articleService, ArticleCounterService counterService,
+                             ArticleBulkService bulkService, ObjectMapper objectMapper, ArticleJsonCache jsonCache) {
         this.articleService = articleService;
+        this.counterService = counterService;
+        this.bulkService = bulkService;
+        this.objectMapper = objectMapper;
+        this.jsonCache = jsonCache;
     }
 
     // ========== ENDPOINT: Créer un article ==========
@@ -45,55 +75,195 @@ public class ArticleController {
         return new ResponseEntity<>(createdArticle, HttpStatus.CREATED);
     }
 
-    // ========== ENDPOINT: Lister tous les articles ==========
+    // ========== ENDPOINT: Lister les articles (pagination par curseur) ==========
     @GetMapping
     @Operation(
-            summary = "Lister tous les articles",
-            description = "Endpoint pour récupérer la liste de tous les articles"
+            summary = "Lister les articles",
+            description = "Endpoint pour parcourir les articles du plus récent au plus ancien, page par page. " +
+                    "Le champ 'next' de la réponse est le curseur à passer pour obtenir la page suivante"
     )
-    @ApiResponse(responseCode = "200", description = "Liste des articles récupérée",
-            content = @Content(array = @ArraySchema(schema = @Schema(implementation = Article.class))))
-    public ResponseEntity<List<Article>> getAllArticles() {
-        List<Article> articles = articleService.getAll();
-        return ResponseEntity.ok(articles);
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page d'articles récupérée"),
+            @ApiResponse(responseCode = "400", description = "Curseur ou taille de page invalide")
+    })
+    public ResponseEntity<CursorPage<ArticleSummaryDTO>> getAllArticles(
+            @Parameter(description = "Curseur opaque renvoyé par la page précédente")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Nombre d'articles par page (1 à 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<ArticleSummaryDTO> page = articleService.getPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    // ========== ENDPOINT: Exporter tous les articles en flux NDJSON ==========
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Lister tous les articles en flux",
+            description = "Endpoint pour recevoir tous les articles au format NDJSON (un article par ligne), " +
+                    "diffusés au fil de la lecture en base sans charger la table en mémoire"
+    )
+    @ApiResponse(responseCode = "200", description = "Flux d'articles")
+    public ResponseEntity<StreamingResponseBody> streamAllArticles() {
+        StreamingResponseBody body = out -> articleService.streamAll(article -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(article));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // ========== ENDPOINT: Importer des articles en masse ==========
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Importer des articles en masse",
+            description = "Endpoint pour insérer un grand nombre d'articles envoyés au format NDJSON " +
+                    "(un article JSON par ligne). Les lignes sont lues en flux et insérées par lots"
+    )
+    @ApiResponse(responseCode = "200", description = "Bilan de l'import, avec le détail des lignes rejetées",
+            content = @Content(schema = @Schema(implementation = BulkImportReportDTO.class)))
+    public ResponseEntity<BulkImportReportDTO> importArticles(InputStream body) throws IOException {
+        BulkImportReportDTO report = bulkService.importNdjson(body);
+        return ResponseEntity.ok(report);
+    }
+
+    // ========== ENDPOINT: Exporter tous les articles ==========
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Exporter tous les articles",
+            description = "Endpoint pour exporter tous les articles complets au format NDJSON, " +
+                    "dans un format accepté par l'import"
+    )
+    @ApiResponse(responseCode = "200", description = "Flux d'articles")
+    public ResponseEntity<StreamingResponseBody> exportArticles() {
+        StreamingResponseBody body = bulkService::exportNdjson;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     // ========== ENDPOINT: Récupérer un article par ID ==========
     @GetMapping("/{id}")
     @Operation(
             summary = "Récupérer un article par ID",
-            description = "Endpoint pour récupérer un article spécifique par son identifiant"
+            description = "Endpoint pour récupérer un article spécifique par son identifiant. La réponse porte un " +
+                    "ETag ; avec If-None-Match, un article inchangé renvoie 304 sans corps. Pas de Last-Modified : " +
+                    "les compteurs de l'article changent sans modifier sa date"
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Article trouvé",
                     content = @Content(schema = @Schema(implementation = Article.class))),
+            @ApiResponse(responseCode = "304", description = "Article inchangé"),
             @ApiResponse(responseCode = "404", description = "Article non trouvé")
     })
-    public ResponseEntity<Article> getArticleById(
+    public ResponseEntity<byte[]> getArticleById(
             @Parameter(description = "ID de l'article", required = true, example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(hidden = true) @RequestHeader HttpHeaders headers) {
+        // Requête conditionnelle : validateurs lus sans charger ni sérialiser le contenu
+        if (!headers.getIfNoneMatch().isEmpty()) {
+            ResponseEntity<byte[]> notModified = notModified(headers, articleService.getArticleVersion(id));
+            if (notModified != null) {
+                return notModified;
+            }
+        }
         Article article = articleService.getArticleById(id);
-        return ResponseEntity.ok(article);
+        return serialized(article, ArticleService.toVersion(article), headers);
+    }
+
+    // ========== ENDPOINT: Récupérer un article par slug ==========
+    @GetMapping("/slug/{slug}")
+    @Operation(
+            summary = "Récupérer un article par slug",
+            description = "Endpoint pour résoudre un permalien à partir du slug de l'article"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Article trouvé",
+                    content = @Content(schema = @Schema(implementation = Article.class))),
+            @ApiResponse(responseCode = "304", description = "Article inchangé"),
+            @ApiResponse(responseCode = "404", description = "Article non trouvé")
+    })
+    public ResponseEntity<byte[]> getArticleBySlug(
+            @Parameter(description = "Slug de l'article", required = true, example = "decouvrir-spring-boot")
+            @PathVariable String slug,
+            @Parameter(hidden = true) @RequestHeader HttpHeaders headers) {
+        // Servi depuis le cache des articles, sans sérialisation pour un 304
+        Article article = articleService.getArticleBySlug(slug);
+        ArticleVersionDTO version = ArticleService.toVersion(article);
+        ResponseEntity<byte[]> notModified = notModified(headers, version);
+        if (notModified != null) {
+            return notModified;
+        }
+        return serialized(article, version, headers);
+    }
+
+    // ========== ENDPOINT: Page article (article, commentaires et compteur en une réponse) ==========
+    @GetMapping("/{id}/detail")
+    @Operation(
+            summary = "Récupérer un article avec ses premiers commentaires",
+            description = "Endpoint pour afficher une page article en un seul appel : l'article, la première page " +
+                    "de commentaires, le nombre total de commentaires et le curseur de la page suivante " +
+                    "(à passer à /api/articles/{id}/commentaires). Deux requêtes SQL au plus"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Article et premiers commentaires",
+                    content = @Content(schema = @Schema(implementation = ArticleDetailDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Nombre de commentaires invalide"),
+            @ApiResponse(responseCode = "404", description = "Article non trouvé")
+    })
+    public ResponseEntity<byte[]> getArticleDetail(
+            @Parameter(description = "ID de l'article", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Nombre de commentaires de la première page (1 à 100)", example = "10")
+            @RequestParam(defaultValue = "10") int commentaires) throws IOException {
+        ArticleDetailDTO detail = articleService.getArticleDetail(id, commentaires);
+        // L'article est repris tel quel du cache des corps pré-encodés ; seul le reste est sérialisé
+        byte[] article = jsonCache.get(detail.getArticle(), etag(ArticleService.toVersion(detail.getArticle()))).json();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(article.length + 256 * detail.getCommentaires().size());
+        body.write("{\"article\":".getBytes(StandardCharsets.UTF_8));
+        body.write(article);
+        body.write(",\"commentaires\":".getBytes(StandardCharsets.UTF_8));
+        body.write(objectMapper.writeValueAsBytes(detail.getCommentaires()));
+        body.write((",\"nombreCommentaires\":" + detail.getNombreCommentaires() + ",\"next\":")
+                .getBytes(StandardCharsets.UTF_8));
+        body.write(objectMapper.writeValueAsBytes(detail.getNext()));
+        body.write('}');
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.toByteArray());
     }
 
     // ========== ENDPOINT: Mettre à jour un article ==========
     @PutMapping("/{id}")
     @Operation(
             summary = "Mettre à jour un article",
-            description = "Endpoint pour mettre à jour un article existant"
+            description = "Endpoint pour mettre à jour un article existant. Avec If-Match (ETag d'une lecture " +
+                    "précédente), la mise à jour est refusée si l'article a été modifié entre-temps"
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Article mis à jour",
                     content = @Content(schema = @Schema(implementation = Article.class))),
-            @ApiResponse(responseCode = "404", description = "Article non trouvé")
+            @ApiResponse(responseCode = "404", description = "Article non trouvé"),
+            @ApiResponse(responseCode = "409", description = "Modification concurrente (sans If-Match)"),
+            @ApiResponse(responseCode = "412", description = "L'article a changé depuis l'ETag fourni")
     })
     public ResponseEntity<Article> updateArticle(
             @Parameter(description = "ID de l'article", required = true, example = "1")
             @PathVariable Long id,
             @Parameter(description = "Nouvelles données de l'article", required = true)
-            @RequestBody Article article) {
-        Article updatedArticle = articleService.update(id, article);
-        return ResponseEntity.ok(updatedArticle);
+            @RequestBody Article article,
+            @Parameter(hidden = true) @RequestHeader HttpHeaders headers) {
+        try {
+            Article updatedArticle = articleService.update(id, article, EntityTags.expectedVersion(headers));
+            return ResponseEntity.ok().eTag(etag(ArticleService.toVersion(updatedArticle))).body(updatedArticle);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            HttpStatus status = headers.getIfMatch().isEmpty() ? HttpStatus.CONFLICT : HttpStatus.PRECONDITION_FAILED;
+            return ResponseEntity.status(status).build();
+        }
     }
 
     // ========== ENDPOINT: Supprimer un article ==========
@@ -120,11 +290,11 @@ public class ArticleController {
             description = "Endpoint pour filtrer les articles par catégorie"
     )
     @ApiResponse(responseCode = "200", description = "Articles de la catégorie trouvés",
-            content = @Content(array = @ArraySchema(schema = @Schema(implementation = Article.class))))
-    public ResponseEntity<List<Article>> getArticlesByCategory(
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = ArticleSummaryDTO.class))))
+    public ResponseEntity<List<ArticleSummaryDTO>> getArticlesByCategory(
             @Parameter(description = "Catégorie des articles", required = true, example = "technology")
             @PathVariable String category) {
-        List<Article> articles = articleService.getArticlesByCategory(category);
+        List<ArticleSummaryDTO> articles = articleService.getArticlesByCategory(category);
         return ResponseEntity.ok(articles);
     }
 
@@ -132,15 +302,20 @@ public class ArticleController {
     @GetMapping("/recherche")
     @Operation(
             summary = "Rechercher des articles",
-            description = "Endpoint pour rechercher des articles par mot-clé"
+            description = "Endpoint pour rechercher des articles par mot-clé dans le titre, le contenu, " +
+                    "la catégorie et l'auteur, avec classement par pertinence et extraits mis en évidence"
     )
-    @ApiResponse(responseCode = "200", description = "Résultats de la recherche",
-            content = @Content(array = @ArraySchema(schema = @Schema(implementation = Article.class))))
-    public ResponseEntity<List<Article>> searchArticles(
+    @ApiResponse(responseCode = "200", description = "Résultats de la recherche, triés par pertinence",
+            content = @Content(schema = @Schema(implementation = SearchResultDTO.class)))
+    public ResponseEntity<SearchResultDTO> searchArticles(
             @Parameter(description = "Mot-clé de recherche", required = true, example = "spring boot")
-            @RequestParam String keyword) {
-        List<Article> articles = articleService.searchArticles(keyword);
-        return ResponseEntity.ok(articles);
+            @RequestParam String keyword,
+            @Parameter(description = "Numéro de page (à partir de 0)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Nombre de résultats par page (1 à 100)", example = "10")
+            @RequestParam(defaultValue = "10") int size) {
+        SearchResultDTO resultats = articleService.searchArticles(keyword, page, size);
+        return ResponseEntity.ok(resultats);
     }
 
     // ========== ENDPOINT: Articles récents ==========
@@ -150,9 +325,27 @@ public class ArticleController {
             description = "Endpoint pour récupérer les articles les plus récents"
     )
     @ApiResponse(responseCode = "200", description = "Articles récents récupérés",
-            content = @Content(array = @ArraySchema(schema = @Schema(implementation = Article.class))))
-    public ResponseEntity<List<Article>> getRecentArticles() {
-        List<Article> articles = articleService.getRecentArticles();
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = ArticleSummaryDTO.class))))
+    public ResponseEntity<List<ArticleSummaryDTO>> getRecentArticles() {
+        List<ArticleSummaryDTO> articles = articleService.getRecentArticles();
+        return ResponseEntity.ok(articles);
+    }
+
+    // ========== ENDPOINT: Articles populaires ==========
+    @GetMapping("/populaires")
+    @Operation(
+            summary = "Articles populaires",
+            description = "Endpoint pour récupérer les articles les plus vus, au total ou sur une période " +
+                    "glissante (heure, jour, semaine)"
+    )
+    @ApiResponse(responseCode = "200", description = "Articles populaires récupérés",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = ArticleSummaryDTO.class))))
+    public ResponseEntity<List<ArticleSummaryDTO>> getPopularArticles(
+            @Parameter(description = "Période : TOUT, HEURE, JOUR ou SEMAINE", example = "JOUR")
+            @RequestParam(defaultValue = "TOUT") PopularityLeaderboard.Periode periode,
+            @Parameter(description = "Nombre d'articles (1 à 100)", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        List<ArticleSummaryDTO> articles = articleService.getPopularArticles(periode, limit);
         return ResponseEntity.ok(articles);
     }
 
@@ -163,11 +356,97 @@ public class ArticleController {
             description = "Endpoint pour filtrer les articles par auteur"
     )
     @ApiResponse(responseCode = "200", description = "Articles de l'auteur trouvés",
-            content = @Content(array = @ArraySchema(schema = @Schema(implementation = Article.class))))
-    public ResponseEntity<List<Article>> getArticlesByAuthor(
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = ArticleSummaryDTO.class))))
+    public ResponseEntity<List<ArticleSummaryDTO>> getArticlesByAuthor(
             @Parameter(description = "Nom de l'auteur", required = true, example = "John Doe")
             @PathVariable String authorName) {
-        List<Article> articles = articleService.getArticlesByAuthor(authorName);
+        List<ArticleSummaryDTO> articles = articleService.getArticlesByAuthor(authorName);
         return ResponseEntity.ok(articles);
     }
-}
\ No newline at end of file
+
+    // ========== ENDPOINT: Enregistrer une vue ==========
+    @PostMapping("/{id}/vues")
+    @Operation(
+            summary = "Enregistrer une vue",
+            description = "Endpoint pour comptabiliser une lecture de l'article. Le compteur est mis à jour " +
+                    "en base de manière différée, par lots"
+    )
+    @ApiResponse(responseCode = "202", description = "Vue prise en compte")
+    public ResponseEntity<Void> enregistrerVue(
+            @Parameter(description = "ID de l'article", required = true, example = "1")
+            @PathVariable Long id) {
+        counterService.enregistrerVue(id);
+        return ResponseEntity.accepted().build();
+    }
+
+    // ========== ENDPOINT: Aimer un article ==========
+    @PostMapping("/{id}/likes")
+    @Operation(
+            summary = "Aimer un article",
+            description = "Endpoint pour ajouter un like à l'article (mise à jour différée en base)"
+    )
+    @ApiResponse(responseCode = "202", description = "Like pris en compte")
+    public ResponseEntity<Void> ajouterLike(
+            @Parameter(description = "ID de l'article", required = true, example = "1")
+            @PathVariable Long id) {
+        counterService.ajouterLike(id);
+        return ResponseEntity.accepted().build();
+    }
+
+    // ========== ENDPOINT: Retirer un like ==========
+    @DeleteMapping("/{id}/likes")
+    @Operation(
+            summary = "Retirer un like",
+            description = "Endpoint pour retirer un like de l'article (mise à jour différée en base)"
+    )
+    @ApiResponse(responseCode = "202", description = "Retrait du like pris en compte")
+    public ResponseEntity<Void> retirerLike(
+            @Parameter(description = "ID de l'article", required = true, example = "1")
+            @PathVariable Long id) {
+        counterService.retirerLike(id);
+        return ResponseEntity.accepted().build();
+    }
+
+    // ETag fort : version de l'article et compteurs, qui font aussi partie de la représentation.
+    // Seul validateur des articles : la date de modification ne suit pas les compteurs
+    private static String etag(ArticleVersionDTO version) {
+        return EntityTags.of(version.getVersion(), version.getNombreVues(), version.getNombreLikes(),
+                version.getNombreCommentaires());
+    }
+
+    // La variante gzip a son propre ETag fort : mêmes données, octets différents
+    private static String gzipEtag(ArticleVersionDTO version) {
+        return EntityTags.variant(etag(version), "gzip");
+    }
+
+    // 304 portant l'ETag de la variante que le client détient (JSON ou gzip), null s'il n'en détient aucune
+    private static ResponseEntity<byte[]> notModified(HttpHeaders request, ArticleVersionDTO version) {
+        String etag = EntityTags.matching(request, etag(version), gzipEtag(version));
+        return etag != null ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build() : null;
+    }
+
+    // Corps JSON (ou gzip si le client l'accepte) déjà encodé pour cette version de l'article ;
+    // Tomcat ne recompresse pas une réponse qui porte déjà un Content-Encoding
+    private ResponseEntity<byte[]> serialized(Article article, ArticleVersionDTO version, HttpHeaders request) {
+        ArticleJsonCache.Encoded encoded = jsonCache.get(article, etag(version));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (encoded.gzip() != null && acceptsGzip(request)) {
+            return response.eTag(gzipEtag(version)).header(HttpHeaders.CONTENT_ENCODING, "gzip").body(encoded.gzip());
+        }
+        return response.eTag(etag(version)).body(encoded.json());
+    }
+
+    private static boolean acceptsGzip(HttpHeaders request) {
+        for (String value : request.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : value.split(",")) {
+                String[] parts = coding.trim().split(";");
+                if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                    return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,84 @@
+package com.blog_api.Controller;
+
+import com.blog_api.Service.ArticleReactiveService;
+import com.blog_api.dto.ArticleSummaryDTO;
+import com.blog_api.dto.CommentaireDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// API de lecture v2 : mêmes données que v1, servies par R2DBC et émises en flux
+// (NDJSON ou server-sent events selon l'en-tête Accept)
+@RestController
+@RequestMapping("/api/v2")
+@Tag(name = "Lecture réactive (v2)", description = "API endpoints de lecture en flux pour les pages à fort trafic")
+public class ArticleReactiveController {
+
+    private final ArticleReactiveService reactiveService;
+
+    public ArticleReactiveController(ArticleReactiveService reactiveService) {
+        this.reactiveService = reactiveService;
+    }
+
+    // ========== ENDPOINT: Articles récents en flux ==========
+    @GetMapping(value = "/articles", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(
+            summary = "Articles récents en flux",
+            description = "Endpoint pour recevoir les articles du plus récent au plus ancien, un par ligne (NDJSON) " +
+                    "ou un par événement (SSE)"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Flux d'articles"),
+            @ApiResponse(responseCode = "400", description = "Limite invalide")
+    })
+    public Flux<ArticleSummaryDTO> streamRecentArticles(
+            @Parameter(description = "Nombre maximal d'articles (1 à 1000)", example = "20")
+            @RequestParam(defaultValue = "20") int limit) {
+        return reactiveService.getRecentArticles(limit);
+    }
+
+    // ========== ENDPOINT: Articles d'une catégorie en flux ==========
+    @GetMapping(value = "/articles/categorie/{category}",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(
+            summary = "Articles d'une catégorie en flux",
+            description = "Endpoint pour recevoir les articles d'une catégorie, du plus récent au plus ancien"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Flux d'articles de la catégorie"),
+            @ApiResponse(responseCode = "400", description = "Catégorie vide ou limite invalide")
+    })
+    public Flux<ArticleSummaryDTO> streamArticlesByCategory(
+            @Parameter(description = "Nom de la catégorie", required = true, example = "Technologie")
+            @PathVariable String category,
+            @Parameter(description = "Nombre maximal d'articles (1 à 1000)", example = "100")
+            @RequestParam(defaultValue = "100") int limit) {
+        return reactiveService.getArticlesByCategory(category, limit);
+    }
+
+    // ========== ENDPOINT: Fil de commentaires en flux ==========
+    @GetMapping(value = "/articles/{articleId}/commentaires",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(
+            summary = "Commentaires d'un article en flux",
+            description = "Endpoint pour recevoir tout le fil de commentaires d'un article, du plus ancien au plus récent"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Flux de commentaires"),
+            @ApiResponse(responseCode = "404", description = "Article non trouvé")
+    })
+    public Mono<ResponseEntity<Flux<CommentaireDTO>>> streamCommentaires(
+            @Parameter(description = "ID de l'article", required = true, example = "1")
+            @PathVariable Long articleId) {
+        return reactiveService.getCommentaires(articleId)
+                .map(commentaires -> ResponseEntity.ok().body(commentaires))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
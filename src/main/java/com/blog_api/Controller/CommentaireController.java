@@ -1,7 +1,12 @@
 package com.blog_api.Controller;
 
 import com.blog_api.Model.Commentaire;
+import com.blog_api.Service.CommentaireIngestionService;
 import com.blog_api.Service.CommentaireService;
+import com.blog_api.Util.EntityTags;
+import com.blog_api.dto.CommentaireAccepteDTO;
+import com.blog_api.dto.CommentaireDTO;
+import com.blog_api.dto.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -10,9 +15,13 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -22,9 +31,11 @@ import java.util.List;
 public class CommentaireController {
 
     private final CommentaireService commentaireService;
+    private final CommentaireIngestionService ingestionService;
 
-    public CommentaireController(CommentaireService commentaireService) {
+    public CommentaireController(CommentaireService commentaireService, CommentaireIngestionService ingestionService) {
         this.commentaireService = commentaireService;
+        this.ingestionService = ingestionService;
     }
 
     // ========== ENDPOINT: Ajouter un commentaire ==========
@@ -48,51 +59,112 @@ public class CommentaireController {
         return new ResponseEntity<>(nouveauCommentaire, HttpStatus.CREATED);
     }
 
-    // ========== ENDPOINT: Lister tous les commentaires d'un article ==========
+    // ========== ENDPOINT: Ajouter un commentaire en différé (pics de trafic) ==========
+    @PostMapping("/asynchrone")
+    @Operation(
+            summary = "Ajouter un commentaire en différé",
+            description = "Endpoint pour déposer un commentaire dans la file d'écriture. Le commentaire est inséré " +
+                    "en base par lot quelques millisecondes plus tard ; un commentaire visant un article inexistant " +
+                    "est alors écarté"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Commentaire accepté, identifiant provisoire renvoyé",
+                    content = @Content(schema = @Schema(implementation = CommentaireAccepteDTO.class))),
+            @ApiResponse(responseCode = "503", description = "File d'écriture pleine, réessayer plus tard")
+    })
+    public ResponseEntity<CommentaireAccepteDTO> ajouterCommentaireDiffere(
+            @Parameter(description = "ID de l'article", required = true, example = "1")
+            @PathVariable Long articleId,
+            @Parameter(description = "Objet Commentaire à ajouter", required = true)
+            @RequestBody Commentaire commentaire) {
+        return ingestionService.accepter(articleId, commentaire.getContenu(), commentaire.getAuteur())
+                .map(accepte -> ResponseEntity.accepted().body(new CommentaireAccepteDTO(
+                        accepte.idProvisoire(), accepte.articleId(), accepte.dateCreation())))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .build());
+    }
+
+    // ========== ENDPOINT: Lister les commentaires d'un article (pagination par curseur) ==========
     @GetMapping
     @Operation(
-            summary = "Lister tous les commentaires d'un article",
-            description = "Endpoint pour récupérer tous les commentaires d'un article spécifique"
+            summary = "Lister les commentaires d'un article",
+            description = "Endpoint pour parcourir les commentaires d'un article du plus ancien au plus récent, " +
+                    "page par page. Le champ 'next' de la réponse est le curseur à passer pour obtenir la page suivante"
     )
-    @ApiResponse(responseCode = "200", description = "Liste des commentaires récupérée",
-            content = @Content(array = @ArraySchema(schema = @Schema(implementation = Commentaire.class))))
-    public ResponseEntity<List<Commentaire>> getCommentairesByArticle(
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page de commentaires récupérée"),
+            @ApiResponse(responseCode = "400", description = "Curseur ou taille de page invalide"),
+            @ApiResponse(responseCode = "404", description = "Article non trouvé")
+    })
+    public ResponseEntity<CursorPage<CommentaireDTO>> getCommentairesByArticle(
+            @Parameter(description = "ID de l'article", required = true, example = "1")
+            @PathVariable Long articleId,
+            @Parameter(description = "Curseur opaque renvoyé par la page précédente")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Nombre de commentaires par page (1 à 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<CommentaireDTO> page = commentaireService.getCommentairesByArticle(articleId, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    // ========== ENDPOINT: Flux des nouveaux commentaires (server-sent events) ==========
+    @GetMapping(value = "/flux", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Suivre les nouveaux commentaires en direct",
+            description = "Endpoint pour recevoir chaque nouveau commentaire de l'article dès sa validation, sous forme " +
+                    "d'événements 'commentaire' (id = ID du commentaire). Un client trop lent est déconnecté ; il " +
+                    "rattrape les commentaires manqués avec la liste paginée avant de se réabonner"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Flux ouvert"),
+            @ApiResponse(responseCode = "404", description = "Article non trouvé")
+    })
+    public SseEmitter suivreCommentaires(
             @Parameter(description = "ID de l'article", required = true, example = "1")
             @PathVariable Long articleId) {
-        List<Commentaire> commentaires = commentaireService.getCommentairesByArticle(articleId);
-        return ResponseEntity.ok(commentaires);
+        return commentaireService.abonner(articleId);
     }
 
     // ========== ENDPOINT: Récupérer un commentaire par ID ==========
     @GetMapping("/{commentId}")
     @Operation(
             summary = "Récupérer un commentaire par ID",
-            description = "Endpoint pour récupérer un commentaire spécifique par son identifiant"
+            description = "Endpoint pour récupérer un commentaire spécifique par son identifiant. La réponse porte " +
+                    "un ETag et un Last-Modified ; un commentaire inchangé renvoie 304 sans corps"
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Commentaire trouvé",
                     content = @Content(schema = @Schema(implementation = Commentaire.class))),
+            @ApiResponse(responseCode = "304", description = "Commentaire inchangé"),
             @ApiResponse(responseCode = "404", description = "Commentaire non trouvé")
     })
     public ResponseEntity<Commentaire> getCommentaireById(
             @Parameter(description = "ID de l'article", required = true, example = "1")
             @PathVariable Long articleId,
             @Parameter(description = "ID du commentaire", required = true, example = "1")
-            @PathVariable Long commentId) {
+            @PathVariable Long commentId,
+            @Parameter(hidden = true) @RequestHeader HttpHeaders headers) {
         Commentaire commentaire = commentaireService.getCommentaireById(commentId);
-        return ResponseEntity.ok(commentaire);
+        if (EntityTags.notModified(headers, etag(commentaire), lastModified(commentaire))) {
+            return validators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), commentaire).build();
+        }
+        return validators(ResponseEntity.ok(), commentaire).body(commentaire);
     }
 
     // ========== ENDPOINT: Mettre à jour un commentaire ==========
     @PutMapping("/{commentId}")
     @Operation(
             summary = "Mettre à jour un commentaire",
-            description = "Endpoint pour mettre à jour un commentaire existant"
+            description = "Endpoint pour mettre à jour un commentaire existant. Avec If-Match, la mise à jour est " +
+                    "refusée si le commentaire a été modifié entre-temps"
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Commentaire mis à jour",
                     content = @Content(schema = @Schema(implementation = Commentaire.class))),
-            @ApiResponse(responseCode = "404", description = "Commentaire non trouvé")
+            @ApiResponse(responseCode = "404", description = "Commentaire non trouvé"),
+            @ApiResponse(responseCode = "409", description = "Modification concurrente (sans If-Match)"),
+            @ApiResponse(responseCode = "412", description = "Le commentaire a changé depuis l'ETag fourni")
     })
     public ResponseEntity<Commentaire> updateCommentaire(
             @Parameter(description = "ID de l'article", required = true, example = "1")
@@ -100,9 +172,16 @@ public class CommentaireController {
             @Parameter(description = "ID du commentaire", required = true, example = "1")
             @PathVariable Long commentId,
             @Parameter(description = "Nouvelles données du commentaire", required = true)
-            @RequestBody Commentaire commentaire) {
-        Commentaire updatedCommentaire = commentaireService.update(commentId, commentaire);
-        return ResponseEntity.ok(updatedCommentaire);
+            @RequestBody Commentaire commentaire,
+            @Parameter(hidden = true) @RequestHeader HttpHeaders headers) {
+        try {
+            Commentaire updatedCommentaire = commentaireService.update(commentId, commentaire,
+                    EntityTags.expectedVersion(headers));
+            return validators(ResponseEntity.ok(), updatedCommentaire).body(updatedCommentaire);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            HttpStatus status = headers.getIfMatch().isEmpty() ? HttpStatus.CONFLICT : HttpStatus.PRECONDITION_FAILED;
+            return ResponseEntity.status(status).build();
+        }
     }
 
     // ========== ENDPOINT: Supprimer un commentaire ==========
@@ -120,7 +199,7 @@ public class CommentaireController {
             @PathVariable Long articleId,
             @Parameter(description = "ID du commentaire à supprimer", example = "1")
             @PathVariable Long commentId) {
-        commentaireService.delete(commentId);
+        commentaireService.delete(articleId, commentId);
         return ResponseEntity.noContent().build();
     }
 
@@ -204,4 +283,16 @@ public class CommentaireController {
         boolean exists = commentaireService.commentaireBelongsToArticle(commentId, articleId);
         return ResponseEntity.ok(exists);
     }
-}
\ No newline at end of file
+
+    private static String etag(Commentaire commentaire) {
+        return EntityTags.of(commentaire.getVersion());
+    }
+
+    private static long lastModified(Commentaire commentaire) {
+        return EntityTags.lastModified(commentaire.getDateModification(), commentaire.getDateCreation());
+    }
+
+    private static ResponseEntity.BodyBuilder validators(ResponseEntity.BodyBuilder response, Commentaire commentaire) {
+        return response.eTag(etag(commentaire)).lastModified(lastModified(commentaire));
+    }
+}
@@ -1,7 +1,11 @@
 package com.blog_api.Model;
 
+import com.blog_api.Util.SlugGenerator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -12,6 +16,8 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Table(name = "articles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Article {
 
     @Id
@@ -36,12 +42,20 @@ public class Article {
     @Column(name = "date_modification")
     private LocalDateTime dateModification;
 
-    @Column(name = "nombre_vues")
+    // Compteurs en écriture différée (voir ArticleCounterService) : appliqués par des UPDATE relatifs,
+    // jamais réécrits par la sauvegarde de l'entité, qui remettrait les valeurs lues avant un vidage
+    @Column(name = "nombre_vues", updatable = false)
     private Integer nombreVues = 0;
 
-    @Column(name = "nombre_likes")
+    @Column(name = "nombre_likes", updatable = false)
     private Integer nombreLikes = 0;
 
+    // Compteur dénormalisé, tenu à jour par des incréments en base (voir CommentaireService) :
+    // jamais réécrit par une mise à jour de l'entité, pour ne pas écraser un incrément concurrent
+    @Column(name = "nombre_commentaires", updatable = false)
+    @Builder.Default
+    private Integer nombreCommentaires = 0;
+
     @Column(name = "est_publie")
     private Boolean estPublie = true;
 
@@ -54,12 +68,23 @@ public class Article {
     @Column(unique = true)
     private String slug;
 
+    // Verrouillage optimiste (PUT avec If-Match) et base de l'ETag ; la valeur par défaut couvre
+    // les lignes existantes et les insertions JDBC
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    // Exposés par /api/articles/{id}/commentaires : ne pas les sérialiser évite
+    // un chargement paresseux par article et la récursion article -> commentaire -> article
+    @JsonIgnore
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "article", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Commentaire> commentaires;
 
     @PrePersist
     protected void onCreate() {
         datePublication = LocalDateTime.now();
+        nombreCommentaires = 0;
         // Générer un slug automatiquement si non fourni
         if (slug == null && titre != null) {
             slug = generateSlug(titre);
@@ -75,13 +100,9 @@ public class Article {
         }
     }
 
-    // Méthode pour générer un slug à partir du titre
+    // Méthode pour générer un slug à partir du titre (accents translittérés, une seule passe)
     private String generateSlug(String titre) {
-        return titre.toLowerCase()
-                .replaceAll("[^a-z0-9\\s-]", "") // Supprimer les caractères spéciaux
-                .replaceAll("\\s+", "-") // Remplacer les espaces par des tirets
-                .replaceAll("-+", "-") // Supprimer les tirets doubles
-                .trim();
+        return SlugGenerator.slugify(titre);
     }
 
     // Méthode pour incrémenter le nombre de vues
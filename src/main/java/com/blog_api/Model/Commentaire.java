@@ -1,10 +1,19 @@
 package com.blog_api.Model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "commentaires")
+// L'index couvre le parcours keyset des commentaires d'un article, du plus ancien au plus récent
+@Table(name = "commentaires", indexes = {
+        @Index(name = "idx_commentaires_article_date", columnList = "article_id, date_creation")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Commentaire {
 
     @Id
@@ -20,7 +29,12 @@ public class Commentaire {
     @Column(name = "date_modification")
     private LocalDateTime dateModification;
 
-    @ManyToOne
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "article_id")
     private Article article;
 
@@ -86,6 +100,14 @@ public class Commentaire {
         this.dateModification = dateModification;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Article getArticle() {
         return article;
     }
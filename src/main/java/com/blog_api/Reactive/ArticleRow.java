@@ -0,0 +1,23 @@
+package com.blog_api.Reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+// Table articles vue par R2DBC. Le schéma reste celui des entités JPA : l'API v2 ne fait que lire,
+// et ses requêtes projettent directement dans les DTO de l'API v1.
+@Table("articles")
+public class ArticleRow {
+
+    @Id
+    private Long id;
+
+    private String titre;
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitre() {
+        return titre;
+    }
+}
@@ -0,0 +1,24 @@
+package com.blog_api.Reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+// Table commentaires vue par R2DBC (lecture seule, voir ArticleRow)
+@Table("commentaires")
+public class CommentaireRow {
+
+    @Id
+    private Long id;
+
+    @Column("article_id")
+    private Long articleId;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getArticleId() {
+        return articleId;
+    }
+}
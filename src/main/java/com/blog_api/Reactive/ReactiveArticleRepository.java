@@ -0,0 +1,23 @@
+package com.blog_api.Reactive;
+
+import com.blog_api.dto.ArticleSummaryDTO;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveArticleRepository extends R2dbcRepository<ArticleRow, Long> {
+
+    // Même projection résumée que ArticleRepository.SUMMARY_SELECT, en SQL
+    String SUMMARY_SELECT = "SELECT id, titre, resume, slug, auteur, category, date_publication, " +
+            "date_modification, nombre_vues, nombre_likes, nombre_commentaires FROM articles ";
+
+    // Page d'accueil : articles les plus récents
+    @Query(SUMMARY_SELECT + "ORDER BY date_publication DESC, id DESC LIMIT :limit")
+    Flux<ArticleSummaryDTO> findRecentSummaries(@Param("limit") int limit);
+
+    // Page de catégorie
+    @Query(SUMMARY_SELECT + "WHERE LOWER(category) = LOWER(:category) " +
+            "ORDER BY date_publication DESC, id DESC LIMIT :limit")
+    Flux<ArticleSummaryDTO> findSummariesByCategory(@Param("category") String category, @Param("limit") int limit);
+}
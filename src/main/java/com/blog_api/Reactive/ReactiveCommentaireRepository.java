@@ -0,0 +1,17 @@
+package com.blog_api.Reactive;
+
+import com.blog_api.dto.CommentaireDTO;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveCommentaireRepository extends R2dbcRepository<CommentaireRow, Long> {
+
+    // Fil complet d'un article, du plus ancien au plus récent, depuis l'article en jointure externe
+    // (comme CommentaireRepository) : aucune ligne si l'article n'existe pas, une ligne vide s'il est sans commentaire
+    @Query("SELECT c.id, c.auteur, c.contenu, c.date_creation, c.date_modification " +
+            "FROM articles a LEFT JOIN commentaires c ON c.article_id = a.id " +
+            "WHERE a.id = :articleId ORDER BY c.date_creation ASC, c.id ASC")
+    Flux<CommentaireDTO> streamThread(@Param("articleId") Long articleId);
+}
@@ -1,36 +1,119 @@
 package com.blog_api.Repository;
 
 import com.blog_api.Model.Article;
+import com.blog_api.dto.ArticleSummaryDTO;
+import com.blog_api.dto.ArticleVersionDTO;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ArticleRepository extends JpaRepository<Article, Long> {
 
+    // Projection résumée : une seule requête, sans le contenu ni les commentaires (seulement leur nombre)
+    String SUMMARY_SELECT = "SELECT new com.blog_api.dto.ArticleSummaryDTO(" +
+            "a.id, a.titre, a.resume, a.slug, a.auteur, a.category, " +
+            "a.datePublication, a.dateModification, a.nombreVues, a.nombreLikes, a.nombreCommentaires) FROM Article a ";
+
     // Méthodes de recherche par catégorie
-    List<Article> findByCategoryIgnoreCase(String category);
+    @Query(SUMMARY_SELECT + "WHERE LOWER(a.category) = LOWER(:category) " +
+            "ORDER BY a.datePublication DESC, a.id DESC")
+    List<ArticleSummaryDTO> findSummariesByCategory(@Param("category") String category);
 
     // Méthodes de recherche par auteur
-    List<Article> findByAuteurIgnoreCase(String auteur);
+    @Query(SUMMARY_SELECT + "WHERE LOWER(a.auteur) = LOWER(:auteur) " +
+            "ORDER BY a.datePublication DESC, a.id DESC")
+    List<ArticleSummaryDTO> findSummariesByAuteur(@Param("auteur") String auteur);
+
+    // Articles récents, et première page du parcours keyset (la taille est donnée par le Pageable)
+    @Query(SUMMARY_SELECT + "ORDER BY a.datePublication DESC, a.id DESC")
+    List<ArticleSummaryDTO> findRecentSummaries(Pageable pageable);
 
-    // Articles récents
-    List<Article> findTop10ByOrderByDatePublicationDesc();
+    // Résolution des permaliens (slug unique)
+    Optional<Article> findBySlug(String slug);
 
-    // ✅ CORRECTION : Ajoutez l'annotation @Query pour la méthode searchArticles
-    @Query("SELECT a FROM Article a WHERE " +
-            "LOWER(a.titre) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(a.contenu) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(a.category) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(a.auteur) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<Article> searchArticles(@Param("keyword") String keyword);
+    // Slugs déjà pris pour une base donnée : la base elle-même et ses variantes suffixées "base-N".
+    // Les jokers de LIKE présents dans la base ("%", "_") y sont échappés pour valoir littéralement
+    default List<String> findSlugsStartingWith(String base) {
+        String escaped = base.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+        return findSlugsMatching(base, escaped + "-%");
+    }
+
+    @Query("SELECT a.slug FROM Article a WHERE a.slug = :base OR a.slug LIKE :pattern ESCAPE '!'")
+    List<String> findSlugsMatching(@Param("base") String base, @Param("pattern") String pattern);
 
     // Méthodes supplémentaires optionnelles
     List<Article> findByTitreContainingIgnoreCase(String titre);
     List<Article> findByContenuContainingIgnoreCase(String contenu);
 
-    List<Article> findTop10ByOrderByNombreVuesDesc();
-}
\ No newline at end of file
+    @Query(SUMMARY_SELECT + "ORDER BY a.nombreVues DESC, a.id DESC")
+    List<ArticleSummaryDTO> findMostViewedSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE a.id IN :ids")
+    List<ArticleSummaryDTO> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    // Pagination keyset sur (datePublication, id) : page suivant le curseur
+    @Query(SUMMARY_SELECT + "WHERE a.datePublication < :date " +
+            "OR (a.datePublication = :date AND a.id < :id) " +
+            "ORDER BY a.datePublication DESC, a.id DESC")
+    List<ArticleSummaryDTO> findPageAfter(@Param("date") LocalDateTime date,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
+    // Nombre de commentaires dénormalisé : incrément atomique en base, 0 ligne si l'article n'existe pas
+    @Modifying
+    @Query("UPDATE Article a SET a.nombreCommentaires = COALESCE(a.nombreCommentaires, 0) + 1 WHERE a.id = :id")
+    int incrementNombreCommentaires(@Param("id") Long id);
+
+    // Décrément de l'article du commentaire, à exécuter avant de supprimer celui-ci ; 0 ligne si le
+    // commentaire n'appartient pas à l'article
+    @Modifying
+    @Query("UPDATE Article a SET a.nombreCommentaires = " +
+            "CASE WHEN COALESCE(a.nombreCommentaires, 0) > 0 THEN a.nombreCommentaires - 1 ELSE 0 END " +
+            "WHERE a.id = :articleId AND EXISTS " +
+            "(SELECT c.id FROM Commentaire c WHERE c.id = :commentId AND c.article.id = :articleId)")
+    int decrementNombreCommentaires(@Param("articleId") Long articleId, @Param("commentId") Long commentId);
+
+    @Query("SELECT COALESCE(a.nombreCommentaires, 0) FROM Article a WHERE a.id = :id")
+    Optional<Integer> findNombreCommentairesById(@Param("id") Long id);
+
+    // Validateurs HTTP de l'article, sans charger le contenu
+    @Query("SELECT new com.blog_api.dto.ArticleVersionDTO(a.version, a.datePublication, a.dateModification, " +
+            "a.nombreVues, a.nombreLikes, a.nombreCommentaires) FROM Article a WHERE a.id = :id")
+    Optional<ArticleVersionDTO> findVersionById(@Param("id") Long id);
+
+    // Ce qu'il faut connaître d'un article pour le retirer des index et des caches
+    interface SlugEtCategorie {
+        String getSlug();
+        String getCategory();
+    }
+
+    @Query("SELECT a.slug AS slug, a.category AS category FROM Article a WHERE a.id = :id")
+    Optional<SlugEtCategorie> findSlugAndCategoryById(@Param("id") Long id);
+
+    // Suppression sans chargement de l'entité ni de ses commentaires (à supprimer avant)
+    @Modifying
+    @Query("DELETE FROM Article a WHERE a.id = :id")
+    int deleteByIdReturningCount(@Param("id") Long id);
+
+    // Parcours complet en flux (à consommer dans une transaction et à fermer)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "200"))
+    @Query(SUMMARY_SELECT + "ORDER BY a.datePublication DESC, a.id DESC")
+    Stream<ArticleSummaryDTO> streamAll();
+
+    // Parcours des entités complètes (index de recherche, export)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "200"))
+    @Query("SELECT a FROM Article a ORDER BY a.id")
+    Stream<Article> streamAllEntities();
+}
@@ -1,35 +1,67 @@
 package com.blog_api.Repository;
 
 import com.blog_api.Model.Commentaire;
+import com.blog_api.dto.CommentaireDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+// Les lectures par article partent de l'article et joignent ses commentaires en jointure externe :
+// une seule requête dit à la fois si l'article existe (aucune ligne sinon) et quels commentaires
+// correspondent. Un article sans commentaire correspondant renvoie une ligne vide (commentaire nul).
 @Repository
 public interface CommentaireRepository extends JpaRepository<Commentaire, Long> {
 
-    // Trouver tous les commentaires d'un article
-    List<Commentaire> findByArticleId(Long articleId);
+    // Projection sans l'article parent, servie par l'index (article_id, date_creation)
+    String DTO_SELECT = "SELECT new com.blog_api.dto.CommentaireDTO(" +
+            "c.id, c.auteur, c.contenu, c.dateCreation, c.dateModification) FROM Article a ";
 
-    // Compter les commentaires d'un article
-    Long countByArticleId(Long articleId);
+    // Première page du fil de commentaires, du plus ancien au plus récent
+    @Query(DTO_SELECT + "LEFT JOIN a.commentaires c WHERE a.id = :articleId " +
+            "ORDER BY c.dateCreation ASC, c.id ASC")
+    List<CommentaireDTO> findFirstPage(@Param("articleId") Long articleId, Pageable pageable);
+
+    // Pagination keyset sur (dateCreation, id) : page suivant le curseur
+    @Query(DTO_SELECT + "LEFT JOIN a.commentaires c " +
+            "ON (c.dateCreation > :date OR (c.dateCreation = :date AND c.id > :id)) " +
+            "WHERE a.id = :articleId ORDER BY c.dateCreation ASC, c.id ASC")
+    List<CommentaireDTO> findPageAfter(@Param("articleId") Long articleId,
+                                       @Param("date") LocalDateTime date,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
 
     // Trouver les commentaires par auteur pour un article spécifique
-    @Query("SELECT c FROM Commentaire c WHERE c.article.id = :articleId AND LOWER(c.auteur) LIKE LOWER(CONCAT('%', :auteur, '%'))")
+    @Query("SELECT c FROM Article a LEFT JOIN a.commentaires c " +
+            "ON LOWER(c.auteur) LIKE LOWER(CONCAT('%', :auteur, '%')) WHERE a.id = :articleId")
     List<Commentaire> findByArticleIdAndAuteurContainingIgnoreCase(@Param("articleId") Long articleId,
                                                                    @Param("auteur") String auteur);
 
     // Rechercher des commentaires par contenu pour un article spécifique
-    @Query("SELECT c FROM Commentaire c WHERE c.article.id = :articleId AND LOWER(c.contenu) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    @Query("SELECT c FROM Article a LEFT JOIN a.commentaires c " +
+            "ON LOWER(c.contenu) LIKE LOWER(CONCAT('%', :keyword, '%')) WHERE a.id = :articleId")
     List<Commentaire> findByArticleIdAndContenuContainingIgnoreCase(@Param("articleId") Long articleId,
                                                                     @Param("keyword") String keyword);
 
-    // Trouver les commentaires les plus récents d'un article (limité à 5)
-    List<Commentaire> findTop5ByArticleIdOrderByDateCreationDesc(Long articleId);
+    // Trouver les commentaires les plus récents d'un article (la limite est donnée par le Pageable)
+    @Query("SELECT c FROM Article a LEFT JOIN a.commentaires c WHERE a.id = :articleId " +
+            "ORDER BY c.dateCreation DESC, c.id DESC")
+    List<Commentaire> findRecentByArticleId(@Param("articleId") Long articleId, Pageable pageable);
 
     // Méthode pour vérifier l'existence d'un commentaire dans un article
     boolean existsByIdAndArticleId(Long commentId, Long articleId);
-}
\ No newline at end of file
+
+    // Suppressions sans chargement préalable : le nombre de lignes supprimées tient lieu de vérification
+    @Modifying
+    @Query("DELETE FROM Commentaire c WHERE c.id = :id AND c.article.id = :articleId")
+    int deleteByIdAndArticleIdReturningCount(@Param("id") Long id, @Param("articleId") Long articleId);
+
+    @Modifying
+    @Query("DELETE FROM Commentaire c WHERE c.article.id = :articleId")
+    int deleteByArticleId(@Param("articleId") Long articleId);
+}
@@ -0,0 +1,211 @@
+package com.blog_api.Search;
+
+import com.blog_api.Model.Article;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Index inversé en mémoire des articles, classement BM25 avec pondération par champ.
+// Une requête ne parcourt que les listes d'occurrences de ses termes, pas tout le corpus.
+@Component
+public class ArticleSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Poids des champs : un terme du titre compte plus qu'un terme du contenu
+    private static final int WEIGHT_TITRE = 3;
+    private static final int WEIGHT_CATEGORY = 2;
+    private static final int WEIGHT_AUTEUR = 2;
+    private static final int WEIGHT_RESUME = 1;
+    private static final int WEIGHT_CONTENU = 1;
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, IndexedDocument> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    // Pendant une reconstruction, les articles modifiés en direct ne doivent pas être écrasés
+    private Set<Long> touchedDuringRebuild;
+
+    public void index(Article article) {
+        lock.writeLock().lock();
+        try {
+            if (touchedDuringRebuild != null) {
+                touchedDuringRebuild.add(article.getId());
+            }
+            doIndex(article);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long articleId) {
+        lock.writeLock().lock();
+        try {
+            if (touchedDuringRebuild != null) {
+                touchedDuringRebuild.add(articleId);
+            }
+            doRemove(articleId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            touchedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Indexe un article lu par la reconstruction, sauf s'il a changé entre-temps
+    void rebuildEntry(Article article) {
+        lock.writeLock().lock();
+        try {
+            if (touchedDuringRebuild == null || !touchedDuringRebuild.contains(article.getId())) {
+                doIndex(article);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void endRebuild() {
+        lock.writeLock().lock();
+        try {
+            touchedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchResult search(String query, int page, int size) {
+        Set<String> queryTerms = new LinkedHashSet<>(TextAnalyzer.terms(query));
+        if (queryTerms.isEmpty()) {
+            return new SearchResult(List.of(), 0, List.copyOf(queryTerms));
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            double averageLength = documentCount == 0 ? 1 : (double) totalLength / documentCount;
+            for (String term : queryTerms) {
+                Map<Long, Integer> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                int df = termPostings.size();
+                double idf = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+                for (Map.Entry<Long, Integer> posting : termPostings.entrySet()) {
+                    int tf = posting.getValue();
+                    int length = documents.get(posting.getKey()).length;
+                    double norm = tf + K1 * (1 - B + B * length / averageLength);
+                    scores.merge(posting.getKey(), idf * tf * (K1 + 1) / norm, Double::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Sélection partielle : on ne trie que les (page + 1) * size meilleurs résultats, calculés en long
+        // et bornés au nombre de résultats (une page très lointaine ne déborde pas)
+        long from = Math.min((long) page * size, scores.size());
+        int wanted = (int) Math.min(((long) page + 1) * size, scores.size());
+        if (from >= wanted) {
+            return new SearchResult(List.of(), scores.size(), List.copyOf(queryTerms));
+        }
+        Comparator<Hit> byScore = Comparator.comparingDouble(Hit::score).thenComparing(Hit::articleId, Comparator.reverseOrder());
+        PriorityQueue<Hit> top = new PriorityQueue<>(byScore);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            Hit hit = new Hit(entry.getKey(), entry.getValue());
+            if (top.size() < wanted) {
+                top.add(hit);
+            } else if (byScore.compare(hit, top.peek()) > 0) {
+                top.poll();
+                top.add(hit);
+            }
+        }
+        List<Hit> ranked = new ArrayList<>(top);
+        ranked.sort(byScore.reversed());
+        return new SearchResult(ranked.subList((int) from, ranked.size()), scores.size(), List.copyOf(queryTerms));
+    }
+
+    private void doIndex(Article article) {
+        doRemove(article.getId());
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = addField(frequencies, article.getTitre(), WEIGHT_TITRE)
+                + addField(frequencies, article.getCategory(), WEIGHT_CATEGORY)
+                + addField(frequencies, article.getAuteur(), WEIGHT_AUTEUR)
+                + addField(frequencies, article.getResume(), WEIGHT_RESUME)
+                + addField(frequencies, article.getContenu(), WEIGHT_CONTENU);
+
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>())
+                    .put(article.getId(), entry.getValue());
+        }
+        documents.put(article.getId(), new IndexedDocument(length, frequencies.keySet().toArray(new String[0])));
+        totalLength += length;
+    }
+
+    private void doRemove(Long articleId) {
+        IndexedDocument previous = documents.remove(articleId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(articleId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= previous.length;
+    }
+
+    private static int addField(Map<String, Integer> frequencies, String text, int weight) {
+        List<String> terms = TextAnalyzer.terms(text);
+        for (String term : terms) {
+            frequencies.merge(term, weight, Integer::sum);
+        }
+        return terms.size() * weight;
+    }
+
+    private record IndexedDocument(int length, String[] terms) {
+    }
+
+    public record Hit(Long articleId, double score) {
+    }
+
+    public record SearchResult(List<Hit> hits, int total, List<String> terms) {
+        public SearchResult {
+            hits = Collections.unmodifiableList(hits);
+        }
+    }
+}
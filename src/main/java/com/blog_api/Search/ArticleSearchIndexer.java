@@ -0,0 +1,69 @@
+package com.blog_api.Search;
+
+import com.blog_api.Model.Article;
+import com.blog_api.Repository.ArticleRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+// Reconstruit l'index de recherche à partir de la base au démarrage, en tâche de fond
+// (exécuteur @Async de Spring : threads virtuels si spring.threads.virtual.enabled=true)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleSearchIndexer {
+
+    private final ArticleSearchIndex searchIndex;
+    private final ArticleRepository articleRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${blog.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    // Après un import en masse
+    @Async
+    public void rebuildInBackground() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        searchIndex.beginRebuild();
+        try {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            template.executeWithoutResult(status -> {
+                try (Stream<Article> articles = articleRepository.streamAllEntities()) {
+                    articles.forEach(article -> {
+                        searchIndex.rebuildEntry(article);
+                        entityManager.detach(article);
+                    });
+                }
+            });
+            log.info("Index de recherche reconstruit : {} articles en {} ms",
+                    searchIndex.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Échec de la reconstruction de l'index de recherche", e);
+        } finally {
+            searchIndex.endRebuild();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.blog_api.Search;
+
+import com.blog_api.Util.Transliterator;
+
+import java.util.Collection;
+import java.util.List;
+
+// Extrait du texte autour de la première occurrence d'un terme, termes entourés de <mark>
+public final class SnippetHighlighter {
+
+    private static final String ELLIPSIS = "…";
+
+    private SnippetHighlighter() {
+    }
+
+    public static String highlight(String text, Collection<String> terms, int maxLength) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        List<TextAnalyzer.Token> tokens = TextAnalyzer.tokens(text);
+
+        // Fenêtre centrée approximativement sur la première occurrence
+        int start = 0;
+        for (TextAnalyzer.Token token : tokens) {
+            if (terms.contains(token.term())) {
+                start = Math.max(0, token.start() - maxLength / 4);
+                break;
+            }
+        }
+        int end = Math.min(text.length(), start + maxLength);
+        start = alignOnWord(text, start);
+
+        StringBuilder snippet = new StringBuilder(maxLength + 64);
+        if (start > 0) {
+            snippet.append(ELLIPSIS);
+        }
+        int cursor = start;
+        for (TextAnalyzer.Token token : tokens) {
+            if (token.start() < start || !terms.contains(token.term())) {
+                continue;
+            }
+            if (token.end() > end) {
+                break;
+            }
+            appendEscaped(snippet, text, cursor, token.start());
+            snippet.append("<mark>");
+            appendEscaped(snippet, text, token.start(), token.end());
+            snippet.append("</mark>");
+            cursor = token.end();
+        }
+        appendEscaped(snippet, text, cursor, end);
+        if (end < text.length()) {
+            snippet.append(ELLIPSIS);
+        }
+        return snippet.toString();
+    }
+
+    // Recule le début de l'extrait jusqu'au début du mot pour ne pas le couper
+    private static int alignOnWord(String text, int position) {
+        while (position > 0 && Transliterator.fold(text.charAt(position - 1)) != null) {
+            position--;
+        }
+        return position;
+    }
+
+    private static void appendEscaped(StringBuilder out, String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
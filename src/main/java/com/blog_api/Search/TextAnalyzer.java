@@ -0,0 +1,60 @@
+package com.blog_api.Search;
+
+import com.blog_api.Util.Transliterator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Découpage du texte en termes normalisés : minuscules, sans accents, sans mots vides
+public final class TextAnalyzer {
+
+    private static final int MIN_TERM_LENGTH = 2;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "le", "la", "les", "de", "des", "du", "un", "une", "et", "ou", "en", "au", "aux",
+            "ce", "ces", "cet", "cette", "il", "elle", "on", "ne", "pas", "plus", "se", "sa", "son",
+            "ses", "leur", "par", "pour", "sur", "avec", "dans", "est", "qui", "que", "qu",
+            "the", "and", "of", "to", "in", "is", "it", "for", "an", "by", "with");
+
+    private TextAnalyzer() {
+    }
+
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        for (Token token : tokens(text)) {
+            terms.add(token.term());
+        }
+        return terms;
+    }
+
+    // Termes avec leur position dans le texte d'origine, pour la mise en évidence
+    public static List<Token> tokens(String text) {
+        List<Token> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            String folded = i < text.length() ? Transliterator.fold(text.charAt(i)) : null;
+            if (folded != null) {
+                if (start < 0) {
+                    start = i;
+                }
+                current.append(folded);
+            } else if (start >= 0) {
+                String term = current.toString();
+                if (term.length() >= MIN_TERM_LENGTH && !STOP_WORDS.contains(term)) {
+                    tokens.add(new Token(term, start, i));
+                }
+                current.setLength(0);
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    public record Token(String term, int start, int end) {
+    }
+}
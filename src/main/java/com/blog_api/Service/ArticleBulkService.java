@@ -0,0 +1,205 @@
+package com.blog_api.Service;
+
+import com.blog_api.Model.Article;
+import com.blog_api.Repository.ArticleRepository;
+import com.blog_api.Search.ArticleSearchIndexer;
+import com.blog_api.Util.SlugGenerator;
+import com.blog_api.dto.BulkImportReportDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Import et export en masse des articles au format NDJSON (un article JSON par ligne).
+// L'import contourne Hibernate : avec des id IDENTITY, Hibernate ne peut pas regrouper les INSERT,
+// alors qu'un batch JDBC qui ne relit pas les clés générées le peut (et PostgreSQL les réécrit
+// en INSERT multi-lignes avec reWriteBatchedInserts=true).
+@Slf4j
+@Service
+public class ArticleBulkService {
+
+    private static final String INSERT_SQL = "INSERT INTO articles " +
+            "(titre, contenu, auteur, category, date_publication, nombre_vues, nombre_likes, " +
+            "est_publie, image_url, resume, slug, nombre_commentaires, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArticleRepository articleRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    private final EntityManager entityManager;
+    private final ArticleSearchIndexer searchIndexer;
+    private final CacheManager cacheManager;
+    private final int batchSize;
+
+    public ArticleBulkService(JdbcTemplate jdbcTemplate, ArticleRepository articleRepository,
+                              ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                              EntityManager entityManager, ArticleSearchIndexer searchIndexer,
+                              CacheManager cacheManager, @Value("${blog.bulk.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.articleRepository = articleRepository;
+        this.objectMapper = objectMapper;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.entityManager = entityManager;
+        this.searchIndexer = searchIndexer;
+        this.cacheManager = cacheManager;
+        this.batchSize = batchSize;
+    }
+
+    public BulkImportReportDTO importNdjson(InputStream input) throws IOException {
+        long start = System.currentTimeMillis();
+        BulkImportReportDTO report = new BulkImportReportDTO();
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            report.ligneLue();
+            Article article;
+            try {
+                article = objectMapper.readValue(line, Article.class);
+            } catch (JsonProcessingException e) {
+                report.rejeter(lineNumber, "JSON invalide : " + e.getOriginalMessage());
+                continue;
+            }
+            if (article.getTitre() == null || article.getTitre().isBlank() || article.getContenu() == null) {
+                report.rejeter(lineNumber, "Le titre et le contenu sont obligatoires");
+                continue;
+            }
+            batch.add(new PendingRow(lineNumber, article));
+            if (batch.size() == batchSize) {
+                flush(batch, report);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch, report);
+        }
+
+        report.setDureeMs(System.currentTimeMillis() - start);
+        log.info("Import terminé : {} lignes lues, {} insérées, {} rejetées en {} ms",
+                report.getLignesLues(), report.getInserees(), report.getRejetees(), report.getDureeMs());
+
+        if (report.getInserees() > 0) {
+            cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+            searchIndexer.rebuildInBackground();
+        }
+        return report;
+    }
+
+    // Export de tous les articles complets, lus en flux et détachés au fur et à mesure
+    public void exportNdjson(OutputStream output) {
+        readTransaction.executeWithoutResult(status -> {
+            try (Stream<Article> articles = articleRepository.streamAllEntities()) {
+                articles.forEach(article -> {
+                    try {
+                        output.write(objectMapper.writeValueAsBytes(article));
+                        output.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    entityManager.detach(article);
+                });
+            }
+        });
+    }
+
+    private void flush(List<PendingRow> batch, BulkImportReportDTO report) {
+        assignSlugs(batch);
+        List<Object[]> rows = batch.stream().map(row -> toParameters(row.article)).toList();
+        try {
+            writeTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+            report.inserees(rows.size());
+        } catch (DataAccessException e) {
+            // Le lot entier est annulé : on rejoue ligne par ligne pour isoler les lignes fautives
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, rows.get(i));
+                    report.inserees(1);
+                } catch (DataAccessException rowError) {
+                    report.rejeter(batch.get(i).lineNumber, rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        log.info("Import en cours : {} articles insérés, {} rejetés", report.getInserees(), report.getRejetees());
+    }
+
+    // Slugs uniques : une requête par lot pour détecter les collisions, puis résolution au cas par cas
+    private void assignSlugs(List<PendingRow> batch) {
+        Set<String> bases = new LinkedHashSet<>();
+        for (PendingRow row : batch) {
+            Article article = row.article;
+            String base = article.getSlug() != null ? article.getSlug() : SlugGenerator.slugify(article.getTitre());
+            article.setSlug(base);
+            bases.add(base);
+        }
+        String placeholders = String.join(",", Collections.nCopies(bases.size(), "?"));
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT slug FROM articles WHERE slug IN (" + placeholders + ")", String.class, bases.toArray()));
+
+        Set<String> assigned = new HashSet<>();
+        for (PendingRow row : batch) {
+            String base = row.article.getSlug();
+            String slug = base;
+            if (existing.contains(base) || assigned.contains(base)) {
+                Set<String> taken = new HashSet<>(articleRepository.findSlugsStartingWith(base));
+                taken.addAll(assigned);
+                slug = SlugGenerator.firstAvailable(base, taken);
+            }
+            assigned.add(slug);
+            row.article.setSlug(slug);
+        }
+    }
+
+    private static Object[] toParameters(Article article) {
+        LocalDateTime datePublication = article.getDatePublication() != null
+                ? article.getDatePublication() : LocalDateTime.now();
+        return new Object[]{
+                article.getTitre(),
+                article.getContenu(),
+                article.getAuteur(),
+                article.getCategory(),
+                Timestamp.valueOf(datePublication),
+                article.getNombreVues() != null ? article.getNombreVues() : 0,
+                article.getNombreLikes() != null ? article.getNombreLikes() : 0,
+                article.getEstPublie() != null ? article.getEstPublie() : Boolean.TRUE,
+                article.getImageUrl(),
+                article.getResume(),
+                article.getSlug()
+        };
+    }
+
+    private record PendingRow(long lineNumber, Article article) {
+    }
+}
@@ -0,0 +1,168 @@
+package com.blog_api.Service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Compteurs de vues et de likes en écriture différée : les incréments sont accumulés en mémoire
+// (un LongAdder par article) puis appliqués périodiquement en un seul UPDATE batché,
+// sans lecture-modification-écriture de l'entité ni verrou de ligne par requête.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArticleCounterService {
+
+    private static final String FLUSH_SQL = "UPDATE articles SET " +
+            "nombre_vues = COALESCE(nombre_vues, 0) + ?, " +
+            "nombre_likes = GREATEST(COALESCE(nombre_likes, 0) + ?, 0) " +
+            "WHERE id = ?";
+
+    // Taille maximale des listes IN pour relire les totaux après un vidage
+    private static final int TOTALS_CHUNK = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PopularityLeaderboard leaderboard;
+
+    @Value("${blog.popular.capacity:1000}")
+    private int leaderboardCapacity;
+
+    private final ConcurrentHashMap<Long, Deltas> pending = new ConcurrentHashMap<>();
+
+    public void enregistrerVue(Long articleId) {
+        add(articleId, 1, 0);
+    }
+
+    public void ajouterLike(Long articleId) {
+        add(articleId, 0, 1);
+    }
+
+    public void retirerLike(Long articleId) {
+        add(articleId, 0, -1);
+    }
+
+    @Scheduled(fixedDelayString = "${blog.counters.flush-interval-ms:5000}")
+    public void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, Deltas> entry : pending.entrySet()) {
+            Long articleId = entry.getKey();
+            Deltas deltas = entry.getValue();
+            long vues = deltas.vues.sum();
+            long likes = deltas.likes.sum();
+            if (vues == 0 && likes == 0) {
+                // Inactif depuis le dernier vidage : on libère l'entrée
+                pending.computeIfPresent(articleId, (id, current) -> current == deltas ? deltas.retireIfIdle() : current);
+                continue;
+            }
+            // On retranche exactement ce qui part en base : les incréments concurrents restent en attente
+            deltas.vues.add(-vues);
+            deltas.likes.add(-likes);
+            batch.add(new Object[]{vues, likes, articleId});
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        int[] updated;
+        try {
+            updated = jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+            log.debug("Compteurs vidés pour {} articles", batch.size());
+        } catch (DataAccessException e) {
+            log.warn("Échec du vidage des compteurs, nouvel essai au prochain cycle", e);
+            for (Object[] row : batch) {
+                add((Long) row[2], (Long) row[0], (Long) row[1]);
+            }
+            return;
+        }
+
+        // Seuls les articles existants entrent au classement : un id inconnu (ou supprimé depuis) n'a
+        // touché aucune ligne et occuperait sinon une place que /populaires ne pourrait pas servir
+        Map<Long, Long> vuesParArticle = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Object[] row = batch.get(i);
+            if (i < updated.length && updated[i] == 0) {
+                leaderboard.remove((Long) row[2]);
+            } else if ((Long) row[0] != 0) {
+                vuesParArticle.put((Long) row[2], (Long) row[0]);
+            }
+        }
+        if (!vuesParArticle.isEmpty()) {
+            leaderboard.recordViews(vuesParArticle);
+            leaderboard.updateTotals(readViewTotals(new ArrayList<>(vuesParArticle.keySet())));
+        }
+    }
+
+    // Amorce le classement global avec les articles les plus vus en base
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedLeaderboard() {
+        Map<Long, Long> totals = new HashMap<>();
+        jdbcTemplate.query("SELECT id, nombre_vues FROM articles WHERE nombre_vues > 0 " +
+                        "ORDER BY nombre_vues DESC LIMIT ?",
+                rs -> {
+                    totals.put(rs.getLong(1), rs.getLong(2));
+                }, leaderboardCapacity);
+        leaderboard.updateTotals(totals);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private Map<Long, Long> readViewTotals(List<Long> articleIds) {
+        Map<Long, Long> totals = new HashMap<>();
+        for (int from = 0; from < articleIds.size(); from += TOTALS_CHUNK) {
+            List<Long> chunk = articleIds.subList(from, Math.min(from + TOTALS_CHUNK, articleIds.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query("SELECT id, nombre_vues FROM articles WHERE id IN (" + placeholders + ")",
+                    rs -> {
+                        totals.put(rs.getLong(1), rs.getLong(2));
+                    }, chunk.toArray());
+        }
+        return totals;
+    }
+
+    private void add(Long articleId, long vues, long likes) {
+        while (true) {
+            Deltas deltas = pending.computeIfAbsent(articleId, id -> new Deltas());
+            deltas.vues.add(vues);
+            deltas.likes.add(likes);
+            if (!deltas.retired) {
+                return;
+            }
+            // Entrée libérée en parallèle : on annule sur l'ancienne et on recommence sur la nouvelle
+            deltas.vues.add(-vues);
+            deltas.likes.add(-likes);
+        }
+    }
+
+    private static final class Deltas {
+        private final LongAdder vues = new LongAdder();
+        private final LongAdder likes = new LongAdder();
+        private volatile boolean retired;
+
+        // Appelé sous le verrou de l'entrée de la map : null la retire si rien n'est arrivé entre-temps
+        private Deltas retireIfIdle() {
+            retired = true;
+            if (vues.sum() != 0 || likes.sum() != 0) {
+                retired = false;
+                return this;
+            }
+            return null;
+        }
+    }
+}
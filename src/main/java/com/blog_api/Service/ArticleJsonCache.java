@@ -0,0 +1,84 @@
+package com.blog_api.Service;
+
+import com.blog_api.Model.Article;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+// Corps JSON des articles déjà encodés, et leur variante gzip au-delà d'une taille minimale : un article
+// lu mille fois n'est sérialisé et compressé qu'une fois par version. Chaque entrée porte l'ETag de la
+// représentation encodée ; une entrée dont l'ETag ne correspond plus à l'article servi est réencodée.
+// Borné en octets (poids = JSON + gzip).
+@Component
+public class ArticleJsonCache {
+
+    private final ObjectMapper objectMapper;
+    private final int gzipMinSize;
+    private final Cache<Long, Encoded> entries;
+
+    public ArticleJsonCache(ObjectMapper objectMapper, MeterRegistry registry,
+                            @Value("${blog.articles.json-cache.max-bytes:67108864}") long maxBytes,
+                            @Value("${blog.articles.json-cache.gzip-min-size:1024}") int gzipMinSize) {
+        this.objectMapper = objectMapper;
+        this.gzipMinSize = gzipMinSize;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, Encoded encoded) -> encoded.weight())
+                .recordStats()
+                .build();
+        // Mêmes clés de tags que les caches de Spring (cache, cache.manager, name) : Prometheus refuse un
+        // même nom de métrique avec des jeux de tags différents
+        CaffeineCacheMetrics.monitor(registry, entries, "articleJson",
+                "cache.manager", "articleJsonCache", "name", "articleJson");
+    }
+
+    public Encoded get(Article article, String etag) {
+        Encoded encoded = entries.getIfPresent(article.getId());
+        if (encoded == null || !encoded.etag().equals(etag)) {
+            encoded = encode(article, etag);
+            entries.put(article.getId(), encoded);
+        }
+        return encoded;
+    }
+
+    public void evict(Long articleId) {
+        entries.invalidate(articleId);
+    }
+
+    private Encoded encode(Article article, String etag) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(article);
+            return new Encoded(etag, json, json.length >= gzipMinSize ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 3);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    // gzip est nul pour les petits corps, qui ne gagnent rien à être compressés
+    public record Encoded(String etag, byte[] json, byte[] gzip) {
+
+        int weight() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.blog_api.Service;
+
+import com.blog_api.Reactive.ReactiveArticleRepository;
+import com.blog_api.Reactive.ReactiveCommentaireRepository;
+import com.blog_api.dto.ArticleSummaryDTO;
+import com.blog_api.dto.CommentaireDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Lectures de l'API v2 : aucune requête n'occupe de thread pendant qu'elle attend la base,
+// les lignes sont émises au fil de l'eau avec la contre-pression du client
+@Service
+@RequiredArgsConstructor
+public class ArticleReactiveService {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final ReactiveArticleRepository articleRepository;
+    private final ReactiveCommentaireRepository commentaireRepository;
+
+    public Flux<ArticleSummaryDTO> getRecentArticles(int limit) {
+        checkLimit(limit);
+        return articleRepository.findRecentSummaries(limit);
+    }
+
+    public Flux<ArticleSummaryDTO> getArticlesByCategory(String category, int limit) {
+        if (category == null || category.trim().isEmpty()) {
+            throw new IllegalArgumentException("La catégorie ne peut pas être vide");
+        }
+        checkLimit(limit);
+        return articleRepository.findSummariesByCategory(category.trim(), limit);
+    }
+
+    // L'existence de l'article est vérifiée avant d'ouvrir le flux (vide si l'article n'existe pas) : une fois
+    // la première ligne émise, la réponse est engagée et ne peut plus devenir un 404
+    public Mono<Flux<CommentaireDTO>> getCommentaires(Long articleId) {
+        return articleRepository.existsById(articleId)
+                .filter(Boolean::booleanValue)
+                .map(existe -> commentaireRepository.streamThread(articleId)
+                        .filter(commentaire -> commentaire.getId() != null));
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("La limite doit être comprise entre 1 et " + MAX_LIMIT);
+        }
+    }
+}
@@ -2,103 +2,380 @@ package com.blog_api.Service;
 
 import com.blog_api.Model.Article;
 import com.blog_api.Repository.ArticleRepository;
+import com.blog_api.Repository.CommentaireRepository;
+import com.blog_api.Search.ArticleSearchIndex;
+import com.blog_api.Search.SnippetHighlighter;
+import com.blog_api.Util.SlugGenerator;
+import com.blog_api.dto.ArticleDetailDTO;
+import com.blog_api.dto.ArticleSearchHitDTO;
+import com.blog_api.dto.ArticleSummaryDTO;
+import com.blog_api.dto.ArticleVersionDTO;
+import com.blog_api.dto.CommentaireDTO;
+import com.blog_api.dto.CursorPage;
+import com.blog_api.dto.PageCursor;
+import com.blog_api.dto.SearchResultDTO;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ArticleService {
 
+    // Caches de lecture (configurés dans application.properties)
+    public static final String CACHE_ARTICLES = "articles";
+    public static final String CACHE_RECENTS = "articlesRecents";
+    public static final String CACHE_CATEGORIES = "articlesParCategorie";
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int SNIPPET_LENGTH = 200;
+
     private final ArticleRepository articleRepository;
+    private final CommentaireRepository commentaireRepository;
+    private final ArticleSearchIndex searchIndex;
+    private final PopularityLeaderboard leaderboard;
+    private final SlugIndex slugIndex;
+    private final CacheManager cacheManager;
+    private final CommentaireStreamHub streamHub;
+    private final ArticleJsonCache jsonCache;
+    private final CommentaireService commentaireService;
+    private final EntityManagerFactory entityManagerFactory;
 
+    // Écritures en transaction explicite : les lectures qui les préparent (slugs pris, version attendue)
+    // se font sur le primaire, pas sur un réplica en retard
+    @Transactional
     public Article create(Article article) {
         article.setDatePublication(LocalDateTime.now());
-        return articleRepository.save(article);
+        if (article.getSlug() != null || article.getTitre() != null) {
+            String base = article.getSlug() != null ? article.getSlug() : SlugGenerator.slugify(article.getTitre());
+            article.setSlug(uniqueSlug(base));
+        }
+        Article saved = articleRepository.save(article);
+        afterCommit(() -> {
+            searchIndex.index(saved);
+            slugIndex.put(saved.getSlug(), saved.getId());
+            evictListCaches(saved.getCategory());
+        });
+        return saved;
     }
 
     @Transactional(readOnly = true)
-    public List<Article> getAll() {
-        return articleRepository.findAll();
+    public CursorPage<ArticleSummaryDTO> getPage(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("La taille de page doit être comprise entre 1 et " + MAX_PAGE_SIZE);
+        }
+
+        // Une ligne de plus que demandé pour savoir s'il existe une page suivante
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<ArticleSummaryDTO> articles;
+        if (cursor == null || cursor.isBlank()) {
+            articles = articleRepository.findRecentSummaries(limit);
+        } else {
+            PageCursor position = PageCursor.decode(cursor);
+            articles = articleRepository.findPageAfter(position.getDate(), position.getId(), limit);
+        }
+
+        if (articles.size() <= size) {
+            return new CursorPage<>(articles, null);
+        }
+        List<ArticleSummaryDTO> page = articles.subList(0, size);
+        ArticleSummaryDTO last = page.get(size - 1);
+        return new CursorPage<>(page, new PageCursor(last.getDatePublication(), last.getId()).encode());
     }
 
+    // Parcourt tous les articles sans les garder en mémoire : les résumés ne sont pas des entités gérées
     @Transactional(readOnly = true)
+    public void streamAll(Consumer<ArticleSummaryDTO> consumer) {
+        try (Stream<ArticleSummaryDTO> articles = articleRepository.streamAll()) {
+            articles.forEach(consumer);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CACHE_ARTICLES, key = "#id")
     public Article getArticleById(Long id) {
         return articleRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Article non trouvé"));
     }
 
-    public Article update(Long id, Article updatedArticle) {
+    // Validateurs HTTP : ceux de l'article en cache s'il y est (c'est lui qui serait servi),
+    // sinon une projection qui ne lit pas le contenu
+    @Transactional(readOnly = true)
+    public ArticleVersionDTO getArticleVersion(Long id) {
+        Article cached = cache(CACHE_ARTICLES).get(id, Article.class);
+        if (cached != null) {
+            return toVersion(cached);
+        }
+        return articleRepository.findVersionById(id)
+                .orElseThrow(() -> new RuntimeException("Article non trouvé"));
+    }
+
+    // Permalien : une recherche dans l'index slug -> id puis une lecture dans le cache des articles
+    @Transactional(readOnly = true)
+    public Article getArticleBySlug(String slug) {
+        Long id = slugIndex.get(slug);
+        if (id != null) {
+            Article article = cache(CACHE_ARTICLES).get(id, Article.class);
+            if (article == null) {
+                article = articleRepository.findById(id).orElse(null);
+                if (article != null) {
+                    cache(CACHE_ARTICLES).put(id, article);
+                }
+            }
+            if (article != null && slug.equals(article.getSlug())) {
+                return article;
+            }
+            // Entrée périmée ou collision d'empreinte : on retombe sur la requête
+        }
+
+        Article article = articleRepository.findBySlug(slug)
+                .orElseThrow(() -> new RuntimeException("Article non trouvé"));
+        slugIndex.put(article.getSlug(), article.getId());
+        return article;
+    }
+
+    // Article et première page de commentaires en deux requêtes au plus : article pris dans le cache (sinon
+    // chargé, avec son compteur de commentaires à jour), page du fil en une requête qui vérifie aussi
+    // l'existence de l'article. Le compteur d'un article en cache est relu seul ; s'il a changé sans que
+    // l'entrée soit retirée (écriture hors application, autre instance), l'article est rechargé et remis
+    // en cache, pour que l'article servi et le total annoncé ne se contredisent jamais.
+    @Transactional(readOnly = true)
+    public ArticleDetailDTO getArticleDetail(Long id, int commentaires) {
+        Article article = cache(CACHE_ARTICLES).get(id, Article.class);
+        if (article != null) {
+            int nombreCommentaires = articleRepository.findNombreCommentairesById(id)
+                    .orElseThrow(() -> new RuntimeException("Article non trouvé"));
+            if (nombreCommentaires != Objects.requireNonNullElse(article.getNombreCommentaires(), 0)) {
+                entityManagerFactory.getCache().evict(Article.class, id);
+                article = null;
+            }
+        }
+        if (article == null) {
+            article = articleRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Article non trouvé"));
+            cache(CACHE_ARTICLES).put(id, article);
+        }
+        CursorPage<CommentaireDTO> page = commentaireService.getCommentairesByArticle(id, null, commentaires);
+        return new ArticleDetailDTO(article, page.getItems(),
+                Objects.requireNonNullElse(article.getNombreCommentaires(), 0), page.getNext());
+    }
+
+    // expectedVersion (If-Match) peut être nul ; une modification concurrente est de toute façon
+    // détectée par @Version à l'écriture
+    @Transactional
+    public Article update(Long id, Article updatedArticle, Long expectedVersion) {
         return articleRepository.findById(id)
                 .map(article -> {
+                    if (expectedVersion != null && !expectedVersion.equals(article.getVersion())) {
+                        throw new ObjectOptimisticLockingFailureException(Article.class, id);
+                    }
+                    String previousCategory = article.getCategory();
+                    String previousSlug = article.getSlug();
                     article.setTitre(updatedArticle.getTitre());
                     article.setContenu(updatedArticle.getContenu());
                     article.setCategory(updatedArticle.getCategory());
                     article.setAuteur(updatedArticle.getAuteur());
                     article.setDateModification(LocalDateTime.now());
-                    return articleRepository.save(article);
+                    // Écrit tout de suite : la nouvelle version est connue (et un conflit levé) avant les caches
+                    Article saved = articleRepository.saveAndFlush(article);
+                    afterCommit(() -> {
+                        searchIndex.index(saved);
+                        if (!Objects.equals(previousSlug, saved.getSlug())) {
+                            slugIndex.remove(previousSlug);
+                        }
+                        slugIndex.put(saved.getSlug(), id);
+                        cache(CACHE_ARTICLES).put(id, saved);
+                        jsonCache.evict(id);
+                        evictListCaches(previousCategory, saved.getCategory());
+                    });
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Article non trouvé"));
     }
 
+    // Trois requêtes quel que soit le nombre de commentaires, au lieu du chargement de l'article
+    // et de la suppression en cascade commentaire par commentaire
+    @Transactional
     public void delete(Long id) {
-        if (!articleRepository.existsById(id)) {
+        ArticleRepository.SlugEtCategorie article = articleRepository.findSlugAndCategoryById(id)
+                .orElseThrow(() -> new RuntimeException("Article non trouvé"));
+        commentaireRepository.deleteByArticleId(id);
+        if (articleRepository.deleteByIdReturningCount(id) == 0) {
+            // Supprimé entre-temps par une autre requête
             throw new RuntimeException("Article non trouvé");
         }
-        articleRepository.deleteById(id);
+        afterCommit(() -> {
+            searchIndex.remove(id);
+            leaderboard.remove(id);
+            slugIndex.remove(article.getSlug());
+            streamHub.fermer(id);
+            cache(CACHE_ARTICLES).evict(id);
+            jsonCache.evict(id);
+            evictListCaches(article.getCategory());
+        });
     }
 
-    public List<Article> getArticlesByCategory(String category) {
+    // Compteur de commentaires modifié en base : l'article en cache, son corps pré-encodé et son entrée
+    // du cache de second niveau (que les UPDATE JDBC ne touchent pas) sont retirés après validation,
+    // pour que la lecture suivante et son ETag reflètent le nouveau compteur
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNombreCommentairesModifie(CommentaireService.NombreCommentairesModifie event) {
+        cache(CACHE_ARTICLES).evict(event.articleId());
+        jsonCache.evict(event.articleId());
+        entityManagerFactory.getCache().evict(Article.class, event.articleId());
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CACHE_CATEGORIES, key = "#category.trim().toLowerCase()", condition = "#category != null")
+    public List<ArticleSummaryDTO> getArticlesByCategory(String category) {
         if (category == null || category.trim().isEmpty()) {
             throw new IllegalArgumentException("La catégorie ne peut pas être vide");
         }
 
         String normalizedCategory = category.trim().toLowerCase();
-        return articleRepository.findByCategoryIgnoreCase(normalizedCategory);
+        return articleRepository.findSummariesByCategory(normalizedCategory);
     }
 
-    public List<Article> searchArticles(String keyword) {
+    @Transactional(readOnly = true)
+    public SearchResultDTO searchArticles(String keyword, int page, int size) {
         if (keyword == null || keyword.trim().isEmpty()) {
             throw new IllegalArgumentException("Le mot-clé de recherche ne peut pas être vide");
         }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page ou taille de page invalide");
+        }
+
+        ArticleSearchIndex.SearchResult result = searchIndex.search(keyword, page, size);
+        List<ArticleSearchIndex.Hit> hits = result.hits();
 
-        String normalizedKeyword = keyword.trim().toLowerCase();
-        return articleRepository.searchArticles(normalizedKeyword);
+        // Seuls les articles de la page sont chargés, pour construire les extraits
+        List<Long> ids = hits.stream().map(ArticleSearchIndex.Hit::articleId).toList();
+        Map<Long, Article> articles = articleRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Article::getId, Function.identity()));
+
+        List<ArticleSearchHitDTO> resultats = new ArrayList<>(hits.size());
+        for (ArticleSearchIndex.Hit hit : hits) {
+            Article article = articles.get(hit.articleId());
+            if (article == null) {
+                continue; // supprimé entre la recherche et le chargement
+            }
+            String extrait = SnippetHighlighter.highlight(article.getContenu(), result.terms(), SNIPPET_LENGTH);
+            resultats.add(new ArticleSearchHitDTO(toSummary(article), hit.score(), extrait));
+        }
+        return new SearchResultDTO(resultats, result.total(), page, size);
     }
 
-    public List<Article> getPopularArticles() {
-        // Retourne les 10 articles les plus populaires (par nombre de vues ou likes)
-        // Si vous n'avez pas de champ de popularité, retournez les plus récents
-        return articleRepository.findTop10ByOrderByNombreVuesDesc();
+    // Articles les plus vus, lus dans le classement en mémoire puis chargés en une requête
+    @Transactional(readOnly = true)
+    public List<ArticleSummaryDTO> getPopularArticles(PopularityLeaderboard.Periode periode, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("La limite doit être comprise entre 1 et " + MAX_PAGE_SIZE);
+        }
+        if (periode == PopularityLeaderboard.Periode.TOUT && leaderboard.isEmpty(periode)) {
+            // Classement pas encore amorcé
+            return articleRepository.findMostViewedSummaries(PageRequest.of(0, limit));
+        }
 
-        // Alternative si pas de champ de popularité :
-        // return articleRepository.findTop10ByOrderByDatePublicationDesc();
+        List<Long> ids = leaderboard.top(periode, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ArticleSummaryDTO> summaries = articleRepository.findSummariesByIds(ids).stream()
+                .collect(Collectors.toMap(ArticleSummaryDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
-    public List<Article> getRecentArticles() {
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CACHE_RECENTS, key = "'recents'")
+    public List<ArticleSummaryDTO> getRecentArticles() {
         // Retourne les 10 articles les plus récents
-        return articleRepository.findTop10ByOrderByDatePublicationDesc();
+        return articleRepository.findRecentSummaries(PageRequest.of(0, 10));
     }
 
-    public List<Article> getArticlesByAuthor(String authorName) {
+    @Transactional(readOnly = true)
+    public List<ArticleSummaryDTO> getArticlesByAuthor(String authorName) {
         if (authorName == null || authorName.trim().isEmpty()) {
             throw new IllegalArgumentException("Le nom de l'auteur ne peut pas être vide");
         }
 
         String normalizedAuthor = authorName.trim();
-        return articleRepository.findByAuteurIgnoreCase(normalizedAuthor);
+        return articleRepository.findSummariesByAuteur(normalizedAuthor);
     }
 
     // Méthode supplémentaire utile
-    public List<Article> getLatestArticles(int limit) {
-        return articleRepository.findAll(
-                PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "datePublication"))
-        ).getContent();
+    @Transactional(readOnly = true)
+    public List<ArticleSummaryDTO> getLatestArticles(int limit) {
+        return articleRepository.findRecentSummaries(PageRequest.of(0, limit));
+    }
+
+    private static ArticleSummaryDTO toSummary(Article article) {
+        return new ArticleSummaryDTO(article.getId(), article.getTitre(), article.getResume(), article.getSlug(),
+                article.getAuteur(), article.getCategory(), article.getDatePublication(),
+                article.getDateModification(), article.getNombreVues(), article.getNombreLikes(),
+                article.getNombreCommentaires());
+    }
+
+    public static ArticleVersionDTO toVersion(Article article) {
+        return new ArticleVersionDTO(article.getVersion(), article.getDatePublication(),
+                article.getDateModification(), article.getNombreVues(), article.getNombreLikes(),
+                article.getNombreCommentaires());
+    }
+
+    // Ajoute un suffixe numérique si le slug est déjà pris : "mon-titre", "mon-titre-2", "mon-titre-3"...
+    private String uniqueSlug(String base) {
+        return SlugGenerator.firstAvailable(base, articleRepository.findSlugsStartingWith(base));
+    }
+
+    // Caches et index en mémoire ne décrivent que des données validées : mis à jour après le commit de
+    // la transaction englobante, jamais pour une écriture annulée (immédiatement hors transaction)
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Invalide l'instantané des articles récents et les listes des catégories touchées
+    private void evictListCaches(String... categories) {
+        cache(CACHE_RECENTS).clear();
+        Cache parCategorie = cache(CACHE_CATEGORIES);
+        for (String category : categories) {
+            if (category != null) {
+                parCategorie.evict(category.trim().toLowerCase());
+            }
+        }
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), name);
     }
 }
\ No newline at end of file
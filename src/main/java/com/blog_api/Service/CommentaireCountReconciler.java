@@ -0,0 +1,87 @@
+package com.blog_api.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Réparation périodique de articles.nombre_commentaires (écritures hors application, colonne ajoutée
+// sur une base existante, incident...). Parcours par tranches d'id ; chaque correction est conditionnée
+// à la valeur lue, lue dans la même requête que le COUNT(*) : si un commentaire arrive entre la lecture
+// et la correction, celle-ci ne s'applique pas et l'article sera revu au passage suivant.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentaireCountReconciler {
+
+    private static final String SCAN_SQL = "SELECT a.id, a.nombre_commentaires, " +
+            "(SELECT COUNT(*) FROM commentaires c WHERE c.article_id = a.id) AS reel " +
+            "FROM articles a WHERE a.id > ? ORDER BY a.id LIMIT ?";
+
+    private static final String REPAIR_SQL = "UPDATE articles SET nombre_commentaires = ? " +
+            "WHERE id = ? AND nombre_commentaires = ?";
+
+    private static final String REPAIR_NULL_SQL = "UPDATE articles SET nombre_commentaires = ? " +
+            "WHERE id = ? AND nombre_commentaires IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher events;
+
+    @Value("${blog.comments.reconcile-chunk:1000}")
+    private int chunkSize;
+
+    @Scheduled(initialDelayString = "${blog.comments.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${blog.comments.reconcile-interval-ms:3600000}")
+    public int reconcile() {
+        int repaired = 0;
+        long lastId = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(SCAN_SQL, lastId, chunkSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<Object[]> repairs = new ArrayList<>();
+            List<Object[]> nullRepairs = new ArrayList<>();
+            for (Map<String, Object> row : rows) {
+                long id = ((Number) row.get("id")).longValue();
+                Number stored = (Number) row.get("nombre_commentaires");
+                long actual = ((Number) row.get("reel")).longValue();
+                if (stored == null) {
+                    nullRepairs.add(new Object[]{actual, id});
+                } else if (stored.longValue() != actual) {
+                    repairs.add(new Object[]{actual, id, stored});
+                }
+                lastId = id;
+            }
+            repaired += applied(repairs, jdbcTemplate.batchUpdate(REPAIR_SQL, repairs));
+            repaired += applied(nullRepairs, jdbcTemplate.batchUpdate(REPAIR_NULL_SQL, nullRepairs));
+            if (rows.size() < chunkSize) {
+                break;
+            }
+        }
+        if (repaired > 0) {
+            log.info("Nombre de commentaires corrigé pour {} article(s)", repaired);
+        }
+        return repaired;
+    }
+
+    // Les articles corrigés sont retirés des caches (voir CommentaireService.NombreCommentairesModifie)
+    private int applied(List<Object[]> repairs, int[] counts) {
+        int total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            // SUCCESS_NO_INFO (-2) : le pilote ne sait pas, on compte la ligne
+            if (counts[i] != 0) {
+                total++;
+                events.publishEvent(new CommentaireService.NombreCommentairesModifie((Long) repairs.get(i)[1]));
+            }
+        }
+        return total;
+    }
+}
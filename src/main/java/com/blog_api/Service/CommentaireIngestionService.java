@@ -0,0 +1,417 @@
+package com.blog_api.Service;
+
+import com.blog_api.dto.CommentaireDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Ingestion asynchrone des commentaires pour les pics de trafic : la requête HTTP se contente de placer
+// le commentaire dans une file bornée (202 + identifiant provisoire) et un unique thread d'écriture
+// l'insère avec ses voisins en batch JDBC, sans lire l'article (la clé étrangère suffit).
+//
+// Chaque commentaire accepté est d'abord ajouté à un journal local : "{json}" à l'acceptation, puis
+// "+n" quand les n plus anciens sont écrits en base. La file et le journal sont alimentés sous le même
+// verrou, donc dans le même ordre : au redémarrage, les entrées au-delà de la somme des "+n" sont
+// rejouées. Le journal est vidé dès que plus rien n'est en attente. Garantie "au moins une fois" :
+// un arrêt brutal entre le commit d'un lot et l'écriture de son "+n" rejoue ce lot.
+//
+// Seules les lignes insérées ou rejetées pour une raison définitive (contrainte violée : article supprimé
+// entre-temps...) sont confirmées. Une panne de la base (pool épuisé, connexion perdue, échec du commit)
+// laisse le lot en tête de file : il est réessayé avec un délai croissant, et reste dans le journal si
+// l'application s'arrête avant le retour de la base.
+@Slf4j
+@Service
+public class CommentaireIngestionService {
+
+    private static final String INSERT_SQL = "INSERT INTO commentaires " +
+            "(contenu, auteur, date_creation, article_id) VALUES (?, ?, ?, ?)";
+
+    private static final String INCREMENT_SQL = "UPDATE articles SET " +
+            "nombre_commentaires = COALESCE(nombre_commentaires, 0) + ? WHERE id = ?";
+
+    private static final String COMMIT_MARKER = "+";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate writeTransaction;
+    private final BlockingQueue<PendingCommentaire> queue;
+    private final int batchSize;
+    private final long maxWaitMs;
+    private final Path journalPath;
+    private final boolean journalSync;
+    private final long retryInitialMs;
+    private final long retryMaxMs;
+
+    // Verrou explicite plutôt que synchronized : l'écriture du journal sous verrou n'épingle pas
+    // le thread porteur quand les requêtes tournent sur des threads virtuels
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private FileChannel journal;
+    // Acceptés mais pas encore confirmés dans le journal (file + lot en cours d'écriture)
+    private long enAttente;
+
+    private final Timer flushTimer;
+    private final Counter inseres;
+    private final Counter rejetes;
+    private final Counter refuses;
+    private final Counter reessais;
+
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public CommentaireIngestionService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, ApplicationEventPublisher events,
+                                       PlatformTransactionManager transactionManager, MeterRegistry registry,
+                                       @Value("${blog.comments.queue-capacity:10000}") int queueCapacity,
+                                       @Value("${blog.comments.batch-size:200}") int batchSize,
+                                       @Value("${blog.comments.max-wait-ms:50}") long maxWaitMs,
+                                       @Value("${blog.comments.journal:data/commentaires-en-attente.ndjson}") Path journalPath,
+                                       @Value("${blog.comments.journal-sync:false}") boolean journalSync,
+                                       @Value("${blog.comments.retry-initial-ms:100}") long retryInitialMs,
+                                       @Value("${blog.comments.retry-max-ms:10000}") long retryMaxMs) throws IOException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.events = events;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxWaitMs = maxWaitMs;
+        this.journalPath = journalPath;
+        this.journalSync = journalSync;
+        this.retryInitialMs = retryInitialMs;
+        this.retryMaxMs = retryMaxMs;
+
+        Gauge.builder("blog.comments.queue.depth", queue, BlockingQueue::size)
+                .description("Commentaires acceptés en attente d'écriture")
+                .register(registry);
+        this.flushTimer = Timer.builder("blog.comments.flush")
+                .description("Durée d'écriture d'un lot de commentaires")
+                .register(registry);
+        this.inseres = registry.counter("blog.comments.written");
+        this.rejetes = registry.counter("blog.comments.rejected");
+        this.refuses = registry.counter("blog.comments.refused");
+        this.reessais = registry.counter("blog.comments.retries");
+
+        openJournal();
+    }
+
+    // Vide si la file est pleine : l'appelant répond 503 et le client réessaie plus tard
+    public Optional<PendingCommentaire> accepter(Long articleId, String contenu, String auteur) {
+        PendingCommentaire commentaire = new PendingCommentaire(UUID.randomUUID(), articleId, contenu, auteur,
+                LocalDateTime.now());
+        journalLock.lock();
+        try {
+            if (queue.remainingCapacity() == 0) {
+                refuses.increment();
+                return Optional.empty();
+            }
+            append(serialize(commentaire));
+            queue.add(commentaire);
+            enAttente++;
+        } finally {
+            journalLock.unlock();
+        }
+        return Optional.of(commentaire);
+    }
+
+    // Démarré une fois le schéma en place ; rejoue d'abord ce que le journal n'a pas confirmé
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        writer = Thread.ofPlatform().name("commentaires-writer").daemon().start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        // Pas d'interruption : le thread termine le lot en cours puis vide la file
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        journalLock.lock();
+        try {
+            journal.close();
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private void run() {
+        List<PendingCommentaire> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingCommentaire first = running ? queue.poll(maxWaitMs, TimeUnit.MILLISECONDS) : queue.poll();
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Laisse le lot se remplir un court instant pendant les rafales
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() == batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    PendingCommentaire next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                boolean ecrit = write(batch);
+                batch.clear();
+                if (!ecrit) {
+                    // Arrêt pendant une panne de la base : le reste attend dans le journal
+                    return;
+                }
+            }
+        }
+    }
+
+    // Écrit le lot en le réessayant tant que la base est indisponible ; faux si l'arrêt survient avant
+    private boolean write(List<PendingCommentaire> batch) {
+        List<PendingCommentaire> restants = batch;
+        long delai = retryInitialMs;
+        while (true) {
+            int traites = attempt(restants);
+            if (traites > 0) {
+                // Les plus anciens d'abord : le "+n" du journal reste un préfixe exact
+                confirm(traites);
+                restants = restants.subList(traites, restants.size());
+                delai = retryInitialMs;
+            }
+            if (restants.isEmpty()) {
+                return true;
+            }
+            if (!running) {
+                log.warn("{} commentaire(s) non écrit(s) conservé(s) dans {}", queue.size() + restants.size(),
+                        journalPath);
+                return false;
+            }
+            reessais.increment();
+            try {
+                Thread.sleep(delai);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            delai = Math.min(delai * 2, retryMaxMs);
+        }
+    }
+
+    // Nombre de commentaires traités depuis le début du lot : insérés, ou rejetés définitivement
+    private int attempt(List<PendingCommentaire> batch) {
+        try {
+            flushTimer.record(() -> writeTransaction.executeWithoutResult(status -> {
+                List<Long> ids = insert(batch);
+                // Un seul incrément par article du lot, dans la même transaction que les insertions,
+                // dans l'ordre des id pour verrouiller les lignes toujours dans le même ordre
+                Map<Long, Integer> parArticle = new TreeMap<>();
+                batch.forEach(commentaire -> parArticle.merge(commentaire.articleId(), 1, Integer::sum));
+                jdbcTemplate.batchUpdate(INCREMENT_SQL, parArticle.entrySet().stream()
+                        .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                        .toList());
+                parArticle.keySet().forEach(articleId ->
+                        events.publishEvent(new CommentaireService.NombreCommentairesModifie(articleId)));
+                publish(batch, ids);
+            }));
+            inseres.increment(batch.size());
+            return batch.size();
+        } catch (DataIntegrityViolationException e) {
+            // Le lot entier est annulé par une ligne fautive : on les isole en écrivant ligne par ligne
+        } catch (RuntimeException e) {
+            log.warn("Écriture de {} commentaire(s) impossible, nouvel essai : {}", batch.size(), e.toString());
+            return 0;
+        }
+
+        int traites = 0;
+        for (PendingCommentaire commentaire : batch) {
+            try {
+                writeTransaction.executeWithoutResult(status -> {
+                    List<Long> ids = insert(List.of(commentaire));
+                    jdbcTemplate.update(INCREMENT_SQL, 1, commentaire.articleId());
+                    events.publishEvent(new CommentaireService.NombreCommentairesModifie(commentaire.articleId()));
+                    publish(List.of(commentaire), ids);
+                });
+                inseres.increment();
+            } catch (DataIntegrityViolationException rowError) {
+                rejetes.increment();
+                log.warn("Commentaire {} rejeté (article {}) : {}", commentaire.idProvisoire(),
+                        commentaire.articleId(), rowError.getMostSpecificCause().getMessage());
+            } catch (RuntimeException rowError) {
+                log.warn("Écriture du commentaire {} impossible, nouvel essai : {}", commentaire.idProvisoire(),
+                        rowError.toString());
+                return traites;
+            }
+            traites++;
+        }
+        return traites;
+    }
+
+    // Batch JDBC avec relecture des id générés, pour diffuser les commentaires aux abonnés du flux
+    private List<Long> insert(List<PendingCommentaire> commentaires) {
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        PendingCommentaire commentaire = commentaires.get(i);
+                        statement.setString(1, commentaire.contenu());
+                        statement.setString(2, commentaire.auteur());
+                        statement.setTimestamp(3, Timestamp.valueOf(commentaire.dateCreation()));
+                        statement.setLong(4, commentaire.articleId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return commentaires.size();
+                    }
+                }, keys);
+        return keys.getKeyList().stream()
+                .map(key -> ((Number) key.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    // Publiés dans la transaction, diffusés par CommentaireStreamHub une fois celle-ci validée
+    private void publish(List<PendingCommentaire> commentaires, List<Long> ids) {
+        for (int i = 0; i < commentaires.size(); i++) {
+            PendingCommentaire commentaire = commentaires.get(i);
+            Long id = i < ids.size() ? ids.get(i) : null;
+            events.publishEvent(new CommentaireStreamHub.CommentaireAjoute(commentaire.articleId(),
+                    new CommentaireDTO(id, commentaire.auteur(), commentaire.contenu(), commentaire.dateCreation(), null)));
+        }
+    }
+
+    private void confirm(int count) {
+        journalLock.lock();
+        try {
+            enAttente -= count;
+            if (enAttente == 0) {
+                journal.truncate(0);
+            } else {
+                append(COMMIT_MARKER + count);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Impossible de mettre à jour le journal des commentaires {}", journalPath, e);
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private void openJournal() throws IOException {
+        if (journalPath.getParent() != null) {
+            Files.createDirectories(journalPath.getParent());
+        }
+        List<PendingCommentaire> replay = Files.exists(journalPath) ? readJournal() : List.of();
+        journal = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        journal.truncate(0);
+        for (PendingCommentaire commentaire : replay) {
+            // Réécrit dans le nouveau journal : il reste valable si l'on s'arrête de nouveau avant l'écriture
+            append(serialize(commentaire));
+            queue.offer(commentaire);
+            enAttente++;
+        }
+        if (!replay.isEmpty()) {
+            log.info("{} commentaire(s) non écrit(s) rejoué(s) depuis {}", replay.size(), journalPath);
+        }
+    }
+
+    private List<PendingCommentaire> readJournal() throws IOException {
+        List<PendingCommentaire> entries = new ArrayList<>();
+        long confirmed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(COMMIT_MARKER)) {
+                    confirmed += Long.parseLong(line.substring(COMMIT_MARKER.length()));
+                } else if (!line.isBlank()) {
+                    try {
+                        entries.add(objectMapper.readValue(line, PendingCommentaire.class));
+                    } catch (JsonProcessingException e) {
+                        // Dernière ligne tronquée par l'arrêt : le commentaire n'avait pas été accepté
+                        log.warn("Entrée illisible ignorée dans {}", journalPath);
+                    }
+                }
+            }
+        }
+        int skip = (int) Math.min(confirmed, entries.size());
+        List<PendingCommentaire> replay = entries.subList(skip, entries.size());
+        if (replay.size() > queue.remainingCapacity()) {
+            throw new IllegalStateException("Le journal " + journalPath + " contient " + replay.size()
+                    + " commentaires, plus que la capacité de la file");
+        }
+        return replay;
+    }
+
+    private String serialize(PendingCommentaire commentaire) {
+        try {
+            return objectMapper.writeValueAsString(commentaire);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Commentaire non sérialisable", e);
+        }
+    }
+
+    // Écriture dans le cache du système : survit à l'arrêt du processus, et à une coupure si journal-sync
+    private void append(String line) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+            if (journalSync) {
+                journal.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture impossible dans le journal " + journalPath, e);
+        }
+    }
+
+    public record PendingCommentaire(UUID idProvisoire, Long articleId, String contenu, String auteur,
+                                     LocalDateTime dateCreation) {
+    }
+}
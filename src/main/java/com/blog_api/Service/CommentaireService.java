@@ -1,46 +1,99 @@
 package com.blog_api.Service;
 
-import com.blog_api.Model.Article;
 import com.blog_api.Model.Commentaire;
 import com.blog_api.Repository.ArticleRepository;
 import com.blog_api.Repository.CommentaireRepository;
+import com.blog_api.dto.CommentaireDTO;
+import com.blog_api.dto.CursorPage;
+import com.blog_api.dto.PageCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class CommentaireService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final CommentaireRepository commentaireRepository;
     private final ArticleRepository articleRepository;
+    private final CommentaireStreamHub streamHub;
+    private final ApplicationEventPublisher events;
 
+    // Aucune lecture de l'article : l'incrément du compteur de commentaires sert aussi de vérification
+    // d'existence, puis le commentaire référence l'article par sa clé
+    @Transactional
     public Commentaire ajouterCommentaire(Long articleId, Commentaire commentaire) {
-        Article article = articleRepository.findById(articleId)
-                .orElseThrow(() -> new RuntimeException("Article non trouvé avec l'ID: " + articleId));
-        commentaire.setArticle(article);
+        if (articleRepository.incrementNombreCommentaires(articleId) == 0) {
+            throw new RuntimeException("Article non trouvé avec l'ID: " + articleId);
+        }
+        events.publishEvent(new NombreCommentairesModifie(articleId));
+        commentaire.setArticle(articleRepository.getReferenceById(articleId));
         commentaire.setDateCreation(LocalDateTime.now());
-        return commentaireRepository.save(commentaire);
+        Commentaire saved = commentaireRepository.save(commentaire);
+        // Diffusé aux abonnés du flux après validation de la transaction
+        events.publishEvent(new CommentaireStreamHub.CommentaireAjoute(articleId, new CommentaireDTO(saved.getId(),
+                saved.getAuteur(), saved.getContenu(), saved.getDateCreation(), saved.getDateModification())));
+        return saved;
     }
 
-    public List<Commentaire> getCommentairesByArticle(Long articleId) {
+    // Abonnement au flux des nouveaux commentaires : une seule lecture, à l'abonnement
+    @Transactional(readOnly = true)
+    public SseEmitter abonner(Long articleId) {
         if (!articleRepository.existsById(articleId)) {
             throw new RuntimeException("Article non trouvé avec l'ID: " + articleId);
         }
-        return commentaireRepository.findByArticleId(articleId);
+        return streamHub.subscribe(articleId);
+    }
+
+    // Une page du fil de commentaires : coût constant quelle que soit la taille du fil
+    @Transactional(readOnly = true)
+    public CursorPage<CommentaireDTO> getCommentairesByArticle(Long articleId, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("La taille de page doit être comprise entre 1 et " + MAX_PAGE_SIZE);
+        }
+
+        // Une ligne de plus que demandé pour savoir s'il existe une page suivante
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<CommentaireDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = commentaireRepository.findFirstPage(articleId, limit);
+        } else {
+            PageCursor position = PageCursor.decode(cursor);
+            rows = commentaireRepository.findPageAfter(articleId, position.getDate(), position.getId(), limit);
+        }
+        List<CommentaireDTO> commentaires = found(articleId, rows, CommentaireDTO::getId);
+
+        if (commentaires.size() <= size) {
+            return new CursorPage<>(commentaires, null);
+        }
+        List<CommentaireDTO> page = commentaires.subList(0, size);
+        CommentaireDTO last = page.get(size - 1);
+        return new CursorPage<>(page, new PageCursor(last.getDateCreation(), last.getId()).encode());
     }
 
+    @Transactional(readOnly = true)
     public Commentaire getCommentaireById(Long commentId) {
         return commentaireRepository.findById(commentId)
                 .orElseThrow(() -> new RuntimeException("Commentaire non trouvé avec l'ID: " + commentId));
     }
 
-    public Commentaire update(Long commentId, Commentaire commentaireDetails) {
+    // expectedVersion (If-Match) peut être nul ; voir ArticleService.update
+    public Commentaire update(Long commentId, Commentaire commentaireDetails, Long expectedVersion) {
         Commentaire commentaire = commentaireRepository.findById(commentId)
                 .orElseThrow(() -> new RuntimeException("Commentaire non trouvé avec l'ID: " + commentId));
+        if (expectedVersion != null && !expectedVersion.equals(commentaire.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Commentaire.class, commentId);
+        }
 
         commentaire.setContenu(commentaireDetails.getContenu());
         commentaire.setAuteur(commentaireDetails.getAuteur());
@@ -49,45 +102,60 @@ public class CommentaireService {
         return commentaireRepository.save(commentaire);
     }
 
-    public void delete(Long commentId) {
-        if (!commentaireRepository.existsById(commentId)) {
+    @Transactional
+    public void delete(Long articleId, Long commentId) {
+        articleRepository.decrementNombreCommentaires(articleId, commentId);
+        if (commentaireRepository.deleteByIdAndArticleIdReturningCount(commentId, articleId) == 0) {
             throw new RuntimeException("Commentaire non trouvé avec l'ID: " + commentId);
         }
-        commentaireRepository.deleteById(commentId);
+        events.publishEvent(new NombreCommentairesModifie(articleId));
     }
 
+    @Transactional(readOnly = true)
     public List<Commentaire> getCommentairesByAuteur(Long articleId, String auteur) {
-        if (!articleRepository.existsById(articleId)) {
-            throw new RuntimeException("Article non trouvé avec l'ID: " + articleId);
-        }
-        return commentaireRepository.findByArticleIdAndAuteurContainingIgnoreCase(articleId, auteur);
+        return found(articleId, commentaireRepository.findByArticleIdAndAuteurContainingIgnoreCase(articleId, auteur),
+                Commentaire::getId);
     }
 
+    @Transactional(readOnly = true)
     public List<Commentaire> searchCommentaires(Long articleId, String keyword) {
-        if (!articleRepository.existsById(articleId)) {
-            throw new RuntimeException("Article non trouvé avec l'ID: " + articleId);
-        }
-        return commentaireRepository.findByArticleIdAndContenuContainingIgnoreCase(articleId, keyword);
+        return found(articleId, commentaireRepository.findByArticleIdAndContenuContainingIgnoreCase(articleId, keyword),
+                Commentaire::getId);
     }
 
+    @Transactional(readOnly = true)
     public List<Commentaire> getRecentCommentaires(Long articleId) {
-        if (!articleRepository.existsById(articleId)) {
-            throw new RuntimeException("Article non trouvé avec l'ID: " + articleId);
-        }
-        return commentaireRepository.findTop5ByArticleIdOrderByDateCreationDesc(articleId);
+        return found(articleId, commentaireRepository.findRecentByArticleId(articleId, PageRequest.of(0, 5)),
+                Commentaire::getId);
     }
 
+    // Lu dans le compteur dénormalisé de l'article plutôt qu'un COUNT(*) sur les commentaires
+    @Transactional(readOnly = true)
     public Long countCommentairesByArticle(Long articleId) {
-        if (!articleRepository.existsById(articleId)) {
-            throw new RuntimeException("Article non trouvé avec l'ID: " + articleId);
-        }
-        return commentaireRepository.countByArticleId(articleId);
+        return articleRepository.findNombreCommentairesById(articleId)
+                .map(Integer::longValue)
+                .orElseThrow(() -> new RuntimeException("Article non trouvé avec l'ID: " + articleId));
     }
 
     // Méthode supplémentaire utile : Vérifier si un commentaire appartient à un article
+    @Transactional(readOnly = true)
     public boolean commentaireBelongsToArticle(Long commentId, Long articleId) {
-        Optional<Commentaire> commentaire = commentaireRepository.findById(commentId);
-        return commentaire.isPresent() &&
-                commentaire.get().getArticle().getId().equals(articleId);
+        return commentaireRepository.existsByIdAndArticleId(commentId, articleId);
+    }
+
+    // Publié à chaque modification de articles.nombre_commentaires (ajout, suppression, ingestion par lots,
+    // réconciliation) : ArticleService retire alors l'article de ses caches
+    public record NombreCommentairesModifie(Long articleId) {
+    }
+
+    // Résultat d'une lecture en jointure externe depuis l'article : aucune ligne si l'article n'existe pas,
+    // une ligne vide (commentaire nul) s'il existe sans commentaire correspondant
+    private static <T> List<T> found(Long articleId, List<T> rows, Function<T, Long> id) {
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Article non trouvé avec l'ID: " + articleId);
+        }
+        return rows.stream()
+                .filter(row -> row != null && id.apply(row) != null)
+                .toList();
     }
 }
\ No newline at end of file
@@ -0,0 +1,198 @@
+package com.blog_api.Service;
+
+import com.blog_api.dto.CommentaireDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Diffusion en direct des nouveaux commentaires aux abonnés SSE d'un article, sans interroger la base :
+// chaque commentaire validé est sérialisé une seule fois puis déposé dans le tampon borné de chaque abonné.
+// L'envoi se fait sur un thread virtuel par abonné actif ; un abonné dont le tampon déborde (client lent)
+// est déconnecté plutôt que de ralentir les autres ou de faire grossir la mémoire. Il peut se réabonner
+// et rattraper les commentaires manqués avec la pagination par curseur.
+@Slf4j
+@Component
+public class CommentaireStreamHub {
+
+    private final Map<Long, Set<Abonne>> abonnes = new ConcurrentHashMap<>();
+    private final AtomicInteger nombreAbonnes = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final Counter evictions;
+
+    public CommentaireStreamHub(ObjectMapper objectMapper, MeterRegistry registry,
+                                @Value("${blog.comments.sse.buffer:64}") int bufferSize,
+                                @Value("${blog.comments.sse.timeout-ms:1800000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        Gauge.builder("blog.comments.sse.subscribers", nombreAbonnes, AtomicInteger::get)
+                .description("Abonnés connectés au flux de commentaires")
+                .register(registry);
+        this.evictions = registry.counter("blog.comments.sse.evicted");
+    }
+
+    public SseEmitter subscribe(Long articleId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Abonne abonne = new Abonne(articleId, emitter);
+        emitter.onCompletion(() -> remove(abonne));
+        emitter.onTimeout(() -> remove(abonne));
+        emitter.onError(e -> remove(abonne));
+        // Ajout sous le verrou de l'entrée, comme le retrait d'un ensemble vidé dans remove() : un abonné
+        // ne peut pas rejoindre un ensemble qui vient d'être retiré de la map
+        abonnes.compute(articleId, (id, destinataires) -> {
+            Set<Abonne> ensemble = destinataires != null ? destinataires : ConcurrentHashMap.newKeySet();
+            ensemble.add(abonne);
+            return ensemble;
+        });
+        nombreAbonnes.incrementAndGet();
+        return emitter;
+    }
+
+    // Après validation seulement : un commentaire annulé n'est jamais diffusé
+    @TransactionalEventListener
+    public void onCommentaireAjoute(CommentaireAjoute event) {
+        Set<Abonne> destinataires = abonnes.get(event.articleId());
+        if (destinataires == null || destinataires.isEmpty()) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> message;
+        try {
+            CommentaireDTO commentaire = event.commentaire();
+            SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                    .name("commentaire")
+                    .data(objectMapper.writeValueAsString(commentaire), MediaType.APPLICATION_JSON);
+            if (commentaire.getId() != null) {
+                builder.id(commentaire.getId().toString());
+            }
+            message = builder.build();
+        } catch (JsonProcessingException e) {
+            log.warn("Commentaire de l'article {} non diffusé : {}", event.articleId(), e.getMessage());
+            return;
+        }
+        destinataires.forEach(abonne -> abonne.offer(message));
+    }
+
+    // Garde les connexions ouvertes à travers les proxys et détecte les clients partis
+    @Scheduled(fixedRateString = "${blog.comments.sse.heartbeat-ms:15000}")
+    public void heartbeat() {
+        if (nombreAbonnes.get() == 0) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        abonnes.values().forEach(destinataires -> destinataires.forEach(abonne -> abonne.offer(ping)));
+    }
+
+    // Article supprimé : ses abonnés sont déconnectés
+    public void fermer(Long articleId) {
+        Set<Abonne> destinataires = abonnes.remove(articleId);
+        if (destinataires != null) {
+            destinataires.forEach(Abonne::close);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List.copyOf(abonnes.keySet()).forEach(this::fermer);
+        senders.shutdown();
+    }
+
+    private void remove(Abonne abonne) {
+        if (abonne.removed.compareAndSet(false, true)) {
+            nombreAbonnes.decrementAndGet();
+            abonnes.computeIfPresent(abonne.articleId, (id, destinataires) -> {
+                destinataires.remove(abonne);
+                return destinataires.isEmpty() ? null : destinataires;
+            });
+        }
+    }
+
+    public record CommentaireAjoute(Long articleId, CommentaireDTO commentaire) {
+    }
+
+    private final class Abonne {
+        private final Long articleId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> buffer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        private Abonne(Long articleId, SseEmitter emitter) {
+            this.articleId = articleId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        // Jamais bloquant pour l'appelant (thread qui a validé la transaction)
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> message) {
+            if (removed.get()) {
+                return;
+            }
+            if (!buffer.offer(message)) {
+                evictions.increment();
+                log.debug("Abonné lent déconnecté du flux de l'article {}", articleId);
+                close();
+                return;
+            }
+            schedule();
+        }
+
+        // La fermeture passe par le thread d'envoi : complete() attend la fin d'un envoi en cours
+        void close() {
+            remove(this);
+            buffer.clear();
+            senders.execute(emitter::complete);
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> message;
+                while (!removed.get() && (message = buffer.poll()) != null) {
+                    emitter.send(message);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client déconnecté ou émetteur déjà terminé
+                remove(this);
+                buffer.clear();
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            // Message déposé entre la fin de la boucle et la remise à zéro du drapeau
+            if (!buffer.isEmpty() && !removed.get()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.blog_api.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Classements des articles les plus vus, maintenus en mémoire au fil des vues.
+// Lire le top K coûte O(K) : les entrées sont déjà triées dans une skip list.
+// Les fenêtres heure/jour/semaine utilisent une décroissance exponentielle ("forward decay") :
+// les scores sont stockés relativement à une date de référence, l'ordre reste donc valable
+// sans recalculer toutes les entrées à chaque instant.
+@Component
+public class PopularityLeaderboard {
+
+    public enum Periode {
+        TOUT(null),
+        HEURE(Duration.ofHours(1)),
+        JOUR(Duration.ofDays(1)),
+        SEMAINE(Duration.ofDays(7));
+
+        private final Duration fenetre;
+
+        Periode(Duration fenetre) {
+            this.fenetre = fenetre;
+        }
+    }
+
+    // En dessous de ce score décru, un article sort des classements à fenêtre
+    private static final double MIN_DECAYED_SCORE = 0.01;
+    // Au-delà de cet exposant, les scores stockés sont ramenés à la date courante
+    private static final double MAX_EXPONENT = 50;
+
+    private final Map<Periode, Board> boards = new EnumMap<>(Periode.class);
+
+    public PopularityLeaderboard(@Value("${blog.popular.capacity:1000}") int capacity) {
+        for (Periode periode : Periode.values()) {
+            boards.put(periode, new Board(periode.fenetre, capacity));
+        }
+    }
+
+    // Vues accumulées depuis le dernier vidage des compteurs
+    public void recordViews(Map<Long, Long> vuesParArticle) {
+        long now = System.currentTimeMillis();
+        for (Periode periode : Periode.values()) {
+            if (periode.fenetre != null) {
+                boards.get(periode).addAll(vuesParArticle, now);
+            }
+        }
+    }
+
+    // Totaux exacts lus en base (classement sans fenêtre)
+    public void updateTotals(Map<Long, Long> totauxParArticle) {
+        boards.get(Periode.TOUT).setAll(totauxParArticle);
+    }
+
+    public void remove(Long articleId) {
+        for (Board board : boards.values()) {
+            board.remove(articleId);
+        }
+    }
+
+    public boolean isEmpty(Periode periode) {
+        return boards.get(periode).ranking.isEmpty();
+    }
+
+    public List<Long> top(Periode periode, int limit) {
+        List<Long> ids = new ArrayList<>(limit);
+        for (Entry entry : boards.get(periode).ranking) {
+            if (ids.size() == limit) {
+                break;
+            }
+            ids.add(entry.articleId());
+        }
+        return ids;
+    }
+
+    @Scheduled(fixedDelayString = "${blog.popular.maintenance-interval-ms:60000}")
+    public void maintenance() {
+        long now = System.currentTimeMillis();
+        for (Board board : boards.values()) {
+            board.maintain(now);
+        }
+    }
+
+    private record Entry(double score, long articleId) {
+    }
+
+    private static final class Board {
+        private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::score).reversed()
+                .thenComparing(Comparator.comparingLong(Entry::articleId).reversed());
+
+        private final double lambda;
+        private final int capacity;
+        private final Map<Long, Double> scores = new HashMap<>();
+        private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(ORDER);
+        private final ReentrantLock lock = new ReentrantLock();
+        private long referenceTime = System.currentTimeMillis();
+
+        private Board(Duration fenetre, int capacity) {
+            this.lambda = fenetre == null ? 0 : 1.0 / fenetre.toMillis();
+            this.capacity = capacity;
+        }
+
+        private void addAll(Map<Long, Long> deltas, long now) {
+            lock.lock();
+            try {
+                double weight = Math.exp(lambda * (now - referenceTime));
+                for (Map.Entry<Long, Long> delta : deltas.entrySet()) {
+                    Double previous = scores.get(delta.getKey());
+                    put(delta.getKey(), (previous == null ? 0 : previous) + delta.getValue() * weight);
+                }
+                trim();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void setAll(Map<Long, Long> totals) {
+            lock.lock();
+            try {
+                for (Map.Entry<Long, Long> total : totals.entrySet()) {
+                    put(total.getKey(), total.getValue());
+                }
+                trim();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void remove(Long articleId) {
+            lock.lock();
+            try {
+                Double previous = scores.remove(articleId);
+                if (previous != null) {
+                    ranking.remove(new Entry(previous, articleId));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void maintain(long now) {
+            if (lambda == 0) {
+                return;
+            }
+            lock.lock();
+            try {
+                double decay = Math.exp(-lambda * (now - referenceTime));
+                if (lambda * (now - referenceTime) > MAX_EXPONENT) {
+                    // Rebasage : même facteur pour toutes les entrées, l'ordre est conservé
+                    List<Entry> rebased = new ArrayList<>(ranking.size());
+                    for (Entry entry : ranking) {
+                        rebased.add(new Entry(entry.score() * decay, entry.articleId()));
+                    }
+                    scores.clear();
+                    ranking.clear();
+                    referenceTime = now;
+                    for (Entry entry : rebased) {
+                        put(entry.articleId(), entry.score());
+                    }
+                    decay = 1;
+                }
+                while (!ranking.isEmpty() && ranking.last().score() * decay < MIN_DECAYED_SCORE) {
+                    Entry last = ranking.pollLast();
+                    scores.remove(last.articleId());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void put(Long articleId, double score) {
+            Double previous = scores.put(articleId, score);
+            if (previous != null) {
+                ranking.remove(new Entry(previous, articleId));
+            }
+            ranking.add(new Entry(score, articleId));
+        }
+
+        // Seules les "capacity" premières entrées sont suivies
+        private void trim() {
+            while (scores.size() > capacity) {
+                Entry last = ranking.pollLast();
+                scores.remove(last.articleId());
+            }
+        }
+    }
+}
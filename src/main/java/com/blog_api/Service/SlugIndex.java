@@ -0,0 +1,140 @@
+package com.blog_api.Service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Table slug -> id à adressage ouvert sur deux tableaux de long (empreinte 64 bits du slug, id).
+// Pas d'objet par entrée : 16 octets par article. Une collision d'empreinte reste possible,
+// l'appelant vérifie donc le slug de l'article trouvé.
+@Component
+public class SlugIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final double MAX_LOAD = 0.6;
+    private static final long EMPTY = 0L;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private long[] values = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public Long get(String slug) {
+        long key = hash(slug);
+        lock.readLock().lock();
+        try {
+            int mask = keys.length - 1;
+            for (int i = mix(key) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(String slug, Long articleId) {
+        if (slug == null || articleId == null) {
+            return;
+        }
+        long key = hash(slug);
+        lock.writeLock().lock();
+        try {
+            if (size + 1 > keys.length * MAX_LOAD) {
+                resize(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            while (keys[i] != EMPTY && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == EMPTY) {
+                size++;
+            }
+            keys[i] = key;
+            values[i] = articleId;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String slug) {
+        if (slug == null) {
+            return;
+        }
+        long key = hash(slug);
+        lock.writeLock().lock();
+        try {
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            while (keys[i] != key) {
+                if (keys[i] == EMPTY) {
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            // Suppression par décalage arrière : pas de pierre tombale, les sondages restent courts
+            int hole = i;
+            for (int j = (hole + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                int home = mix(keys[j]) & mask;
+                if (((j - home) & mask) >= ((j - hole) & mask)) {
+                    keys[hole] = keys[j];
+                    values[hole] = values[j];
+                    hole = j;
+                }
+            }
+            keys[hole] = EMPTY;
+            values[hole] = 0;
+            size--;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[capacity];
+        values = new long[capacity];
+        int mask = capacity - 1;
+        for (int k = 0; k < oldKeys.length; k++) {
+            if (oldKeys[k] != EMPTY) {
+                int i = mix(oldKeys[k]) & mask;
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[k];
+                values[i] = oldValues[k];
+            }
+        }
+    }
+
+    // FNV-1a 64 bits ; 0 est réservé aux cases vides
+    static long hash(String slug) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < slug.length(); i++) {
+            h ^= slug.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h == EMPTY ? 1 : h;
+    }
+
+    private static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -0,0 +1,95 @@
+package com.blog_api.Util;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+// Validateurs HTTP des ressources versionnées (@Version). L'ETag est fort : "<version>", ou
+// "<version>-<compteur>-<compteur>..." quand la représentation contient aussi des compteurs tenus hors
+// de l'entité. Les valeurs sont recopiées telles quelles (vide si nulle) : deux représentations
+// différentes ne partagent jamais un ETag, ce qu'une empreinte ne garantirait pas.
+// If-Match ne compare que la version : les compteurs, maintenus par le serveur, ne rendent jamais
+// une modification conflictuelle.
+public final class EntityTags {
+
+    // Version attendue d'un If-Match illisible : ne correspond à aucune version
+    private static final long NO_VERSION = -1L;
+
+    private EntityTags() {
+    }
+
+    public static String of(Long version, Object... compteurs) {
+        StringBuilder tag = new StringBuilder("\"").append(version != null ? version : 0L);
+        for (Object compteur : compteurs) {
+            tag.append('-');
+            if (compteur != null) {
+                tag.append(compteur);
+            }
+        }
+        return tag.append('"').toString();
+    }
+
+    // Première date renseignée, en millisecondes (-1 si aucune)
+    public static long lastModified(LocalDateTime... dates) {
+        for (LocalDateTime date : dates) {
+            if (date != null) {
+                return date.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            }
+        }
+        return -1;
+    }
+
+    // Variante encodée (gzip...) d'une même représentation : ses octets diffèrent, donc son ETag fort
+    // aussi. La version reste en tête, If-Match la lit de la même façon
+    public static String variant(String etag, String encoding) {
+        return etag.substring(0, etag.length() - 1) + "-" + encoding + "\"";
+    }
+
+    // ETag, parmi ceux des variantes courantes, que le client présente dans If-None-Match (comparaison
+    // faible, le premier pour "*") ; null si aucun ne correspond ou sans If-None-Match
+    public static String matching(HttpHeaders request, String... etags) {
+        for (String tag : request.getIfNoneMatch()) {
+            String opaque = tag.startsWith("W/") ? tag.substring(2) : tag;
+            for (String etag : etags) {
+                if (opaque.equals("*") || opaque.equals(etag)) {
+                    return etag;
+                }
+            }
+        }
+        return null;
+    }
+
+    // If-None-Match l'emporte sur If-Modified-Since (RFC 9110, comparaison faible pour If-None-Match)
+    public static boolean notModified(HttpHeaders request, String etag, long lastModified) {
+        if (!request.getIfNoneMatch().isEmpty()) {
+            return matching(request, etag) != null;
+        }
+        long since = request.getIfModifiedSince();
+        // Last-Modified est transmis à la seconde près
+        return since >= 0 && lastModified >= 0 && lastModified / 1000 <= since / 1000;
+    }
+
+    // Version exigée par If-Match : null sans précondition (en-tête absent ou "*"), sinon celle
+    // du premier ETag fort ; un ETag faible ou illisible ne correspond à aucune version
+    public static Long expectedVersion(HttpHeaders request) {
+        List<String> ifMatch = request.getIfMatch();
+        if (ifMatch.isEmpty() || ifMatch.contains("*")) {
+            return null;
+        }
+        for (String tag : ifMatch) {
+            if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+                continue;
+            }
+            String value = tag.substring(1, tag.length() - 1);
+            int separator = value.indexOf('-');
+            try {
+                return Long.parseLong(separator < 0 ? value : value.substring(0, separator));
+            } catch (NumberFormatException e) {
+                return NO_VERSION;
+            }
+        }
+        return NO_VERSION;
+    }
+}
@@ -0,0 +1,52 @@
+package com.blog_api.Util;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Nombre de requêtes SQL par requête HTTP, exposé dans l'attribut QUERY_COUNT_ATTRIBUTE (utilisé par les tests),
+// journalisé en DEBUG et publié dans la distribution blog.http.sql.queries par méthode et route
+@Slf4j
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_ATTRIBUTE = QueryCountFilter.class.getName() + ".count";
+
+    private final MeterRegistry registry;
+
+    public QueryCountFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCounter.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int count = QueryCounter.count();
+            request.setAttribute(QUERY_COUNT_ATTRIBUTE, count);
+            log.debug("{} {} : {} requête(s) SQL", request.getMethod(), request.getRequestURI(), count);
+            // Route plutôt que chemin réel, pour borner le nombre de séries
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("blog.http.sql.queries")
+                    .description("Requêtes SQL Hibernate par requête HTTP")
+                    .tag("method", request.getMethod())
+                    .tag("uri", route != null ? route.toString() : "UNKNOWN")
+                    // Quelques seuils suffisent à repérer un N+1 ; un histogramme complet multiplierait les séries
+                    .serviceLevelObjectives(1, 2, 3, 5, 10, 20, 50, 100)
+                    .register(registry)
+                    .record(count);
+        }
+    }
+}
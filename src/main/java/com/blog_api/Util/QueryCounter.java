@@ -0,0 +1,25 @@
+package com.blog_api.Util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Compte les requêtes SQL préparées par Hibernate sur le thread courant.
+// Déclaré via hibernate.session_factory.statement_inspector ; remis à zéro par QueryCountFilter
+// au début de chaque requête HTTP. Les accès JdbcTemplate (compteurs, import en masse) ne passent pas par ici.
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int count() {
+        return COUNT.get()[0];
+    }
+}
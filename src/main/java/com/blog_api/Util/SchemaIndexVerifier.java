@@ -0,0 +1,72 @@
+package com.blog_api.Util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Arrête le démarrage si un index attendu par les lectures manque (migration non appliquée, index
+// supprimé à la main...) : sans eux les pages de catégorie, d'auteur et les fils de commentaires
+// parcourent toute la table. Les index sont créés par db/migration/{vendor}/V4__index_lectures.sql.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "blog.schema.verify-indexes", havingValue = "true", matchIfMissing = true)
+public class SchemaIndexVerifier {
+
+    static final Map<String, List<String>> EXPECTED_INDEXES = Map.of(
+            "articles", List.of("idx_articles_category_lower", "idx_articles_auteur_lower",
+                    "idx_articles_date_publication", "idx_articles_nombre_vues"),
+            "commentaires", List.of("idx_commentaires_article_date"));
+
+    private final DataSource dataSource;
+
+    public SchemaIndexVerifier(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void verify() throws SQLException {
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Map.Entry<String, List<String>> table : EXPECTED_INDEXES.entrySet()) {
+                Set<String> present = indexes(metaData, connection.getSchema(), table.getKey());
+                table.getValue().stream()
+                        .filter(index -> !present.contains(index))
+                        .forEach(index -> missing.add(table.getKey() + "." + index));
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Index manquants : " + missing +
+                    " (migrations Flyway non appliquées ? voir db/migration)");
+        }
+        log.info("Index des lectures présents ({} tables vérifiées)", EXPECTED_INDEXES.size());
+    }
+
+    private static Set<String> indexes(DatabaseMetaData metaData, String schema, String table) throws SQLException {
+        String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Set<String> indexes = new HashSet<>();
+        try (ResultSet rows = metaData.getIndexInfo(null, schema, name, false, true)) {
+            while (rows.next()) {
+                String index = rows.getString("INDEX_NAME");
+                if (index != null) {
+                    indexes.add(index.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return indexes;
+    }
+}
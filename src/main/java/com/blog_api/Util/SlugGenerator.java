@@ -0,0 +1,72 @@
+package com.blog_api.Util;
+
+import java.util.Collection;
+
+// Génération de slugs en une seule passe : "Été 2024 : l'œuvre !" -> "ete-2024-l-oeuvre"
+public final class SlugGenerator {
+
+    // Laisse de la place pour un suffixe numérique dans la colonne slug (255)
+    public static final int MAX_LENGTH = 200;
+
+    private static final String DEFAULT_SLUG = "article";
+
+    private SlugGenerator() {
+    }
+
+    public static String slugify(String titre) {
+        if (titre == null) {
+            return DEFAULT_SLUG;
+        }
+        StringBuilder slug = new StringBuilder(Math.min(titre.length(), MAX_LENGTH));
+        boolean pendingHyphen = false;
+        for (int i = 0; i < titre.length() && slug.length() < MAX_LENGTH; i++) {
+            String folded = Transliterator.fold(titre.charAt(i));
+            if (folded == null || !isAsciiAlphanumeric(folded)) {
+                // Tout autre caractère sépare deux mots ; les séparateurs consécutifs fusionnent
+                pendingHyphen = slug.length() > 0;
+                continue;
+            }
+            if (pendingHyphen) {
+                slug.append('-');
+                pendingHyphen = false;
+            }
+            slug.append(folded);
+        }
+        if (slug.length() > MAX_LENGTH) {
+            slug.setLength(MAX_LENGTH);
+        }
+        int end = slug.length();
+        while (end > 0 && slug.charAt(end - 1) == '-') {
+            end--;
+        }
+        return end == 0 ? DEFAULT_SLUG : slug.substring(0, end);
+    }
+
+    // Premier slug libre parmi "base", "base-2", "base-3"... sachant les slugs déjà pris
+    public static String firstAvailable(String base, Collection<String> taken) {
+        if (!taken.contains(base)) {
+            return base;
+        }
+        int max = 1;
+        for (String slug : taken) {
+            if (!slug.startsWith(base + "-")) {
+                continue;
+            }
+            String suffix = slug.substring(base.length() + 1);
+            if (!suffix.isEmpty() && suffix.length() < 10 && suffix.chars().allMatch(Character::isDigit)) {
+                max = Math.max(max, Integer.parseInt(suffix));
+            }
+        }
+        return base + "-" + (max + 1);
+    }
+
+    private static boolean isAsciiAlphanumeric(String folded) {
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if ((c < 'a' || c > 'z') && (c < '0' || c > '9')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
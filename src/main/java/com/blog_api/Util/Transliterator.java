@@ -0,0 +1,49 @@
+package com.blog_api.Util;
+
+import java.text.Normalizer;
+
+// Translittération caractère par caractère vers des minuscules sans accents (é -> e, œ -> oe, ß -> ss...).
+// Table précalculée pour Latin-1 et Latin étendu : aucun Normalizer ni regex à l'exécution.
+public final class Transliterator {
+
+    private static final int TABLE_SIZE = 0x250;
+    private static final String[] FOLD = new String[TABLE_SIZE];
+
+    static {
+        for (char c = 0; c < TABLE_SIZE; c++) {
+            FOLD[c] = computeFold(c);
+        }
+        FOLD['œ'] = "oe";
+        FOLD['Œ'] = "oe";
+        FOLD['æ'] = "ae";
+        FOLD['Æ'] = "ae";
+        FOLD['ß'] = "ss";
+        FOLD['ø'] = "o";
+        FOLD['Ø'] = "o";
+        FOLD['đ'] = "d";
+        FOLD['Đ'] = "d";
+        FOLD['ł'] = "l";
+        FOLD['Ł'] = "l";
+        FOLD['þ'] = "th";
+        FOLD['Þ'] = "th";
+    }
+
+    private Transliterator() {
+    }
+
+    private static String computeFold(char c) {
+        if (!Character.isLetterOrDigit(c)) {
+            return null;
+        }
+        char base = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD).charAt(0);
+        return String.valueOf(Character.toLowerCase(base));
+    }
+
+    // Forme normalisée d'un caractère, ou null si ce n'est ni une lettre ni un chiffre
+    public static String fold(char c) {
+        if (c < TABLE_SIZE) {
+            return FOLD[c];
+        }
+        return Character.isLetterOrDigit(c) ? String.valueOf(Character.toLowerCase(c)) : null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.blog_api.dto;
+
+
+import com.blog_api.Model.Article;
+
+import java.util.List;
+
+// Page article complète en une réponse : l'article, la première page de commentaires (du plus ancien au
+// plus récent), le nombre total de commentaires et le curseur de la page suivante (null s'il n'y en a pas)
+public class ArticleDetailDTO {
+    private Article article;
+    private List<CommentaireDTO> commentaires;
+    private long nombreCommentaires;
+    private String next;
+
+    public ArticleDetailDTO(Article article, List<CommentaireDTO> commentaires, long nombreCommentaires, String next) {
+        this.article = article;
+        this.commentaires = commentaires;
+        this.nombreCommentaires = nombreCommentaires;
+        this.next = next;
+    }
+
+    public Article getArticle() {
+        return article;
+    }
+
+    public List<CommentaireDTO> getCommentaires() {
+        return commentaires;
+    }
+
+    public long getNombreCommentaires() {
+        return nombreCommentaires;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setArticle(Article article) {
+        this.article = article;
+    }
+
+    public void setCommentaires(List<CommentaireDTO> commentaires) {
+        this.commentaires = commentaires;
+    }
+
+    public void setNombreCommentaires(long nombreCommentaires) {
+        this.nombreCommentaires = nombreCommentaires;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+}
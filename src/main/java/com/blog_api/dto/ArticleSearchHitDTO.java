@@ -0,0 +1,39 @@
+package com.blog_api.dto;
+
+
+// Résultat de recherche : résumé de l'article, score de pertinence et extrait mis en évidence
+public class ArticleSearchHitDTO {
+    private ArticleSummaryDTO article;
+    private double score;
+    private String extrait;
+
+    public ArticleSearchHitDTO(ArticleSummaryDTO article, double score, String extrait) {
+        this.article = article;
+        this.score = score;
+        this.extrait = extrait;
+    }
+
+    public ArticleSummaryDTO getArticle() {
+        return article;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public String getExtrait() {
+        return extrait;
+    }
+
+    public void setArticle(ArticleSummaryDTO article) {
+        this.article = article;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public void setExtrait(String extrait) {
+        this.extrait = extrait;
+    }
+}
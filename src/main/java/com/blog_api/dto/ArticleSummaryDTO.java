@@ -0,0 +1,123 @@
+package com.blog_api.dto;
+
+
+import java.time.LocalDateTime;
+
+// Vue résumée d'un article pour les listes : ni contenu ni commentaires
+public class ArticleSummaryDTO {
+    private Long id;
+    private String titre;
+    private String resume;
+    private String slug;
+    private String auteur;
+    private String category;
+    private LocalDateTime datePublication;
+    private LocalDateTime dateModification;
+    private Integer nombreVues;
+    private Integer nombreLikes;
+    private Integer nombreCommentaires;
+
+    public ArticleSummaryDTO(Long id, String titre, String resume, String slug, String auteur, String category,
+                             LocalDateTime datePublication, LocalDateTime dateModification,
+                             Integer nombreVues, Integer nombreLikes, Integer nombreCommentaires) {
+        this.id = id;
+        this.titre = titre;
+        this.resume = resume;
+        this.slug = slug;
+        this.auteur = auteur;
+        this.category = category;
+        this.datePublication = datePublication;
+        this.dateModification = dateModification;
+        this.nombreVues = nombreVues;
+        this.nombreLikes = nombreLikes;
+        this.nombreCommentaires = nombreCommentaires;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitre() {
+        return titre;
+    }
+
+    public String getResume() {
+        return resume;
+    }
+
+    public String getSlug() {
+        return slug;
+    }
+
+    public String getAuteur() {
+        return auteur;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public LocalDateTime getDatePublication() {
+        return datePublication;
+    }
+
+    public LocalDateTime getDateModification() {
+        return dateModification;
+    }
+
+    public Integer getNombreVues() {
+        return nombreVues;
+    }
+
+    public Integer getNombreLikes() {
+        return nombreLikes;
+    }
+
+    public Integer getNombreCommentaires() {
+        return nombreCommentaires;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public void setTitre(String titre) {
+        this.titre = titre;
+    }
+
+    public void setResume(String resume) {
+        this.resume = resume;
+    }
+
+    public void setSlug(String slug) {
+        this.slug = slug;
+    }
+
+    public void setAuteur(String auteur) {
+        this.auteur = auteur;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public void setDatePublication(LocalDateTime datePublication) {
+        this.datePublication = datePublication;
+    }
+
+    public void setDateModification(LocalDateTime dateModification) {
+        this.dateModification = dateModification;
+    }
+
+    public void setNombreVues(Integer nombreVues) {
+        this.nombreVues = nombreVues;
+    }
+
+    public void setNombreLikes(Integer nombreLikes) {
+        this.nombreLikes = nombreLikes;
+    }
+
+    public void setNombreCommentaires(Integer nombreCommentaires) {
+        this.nombreCommentaires = nombreCommentaires;
+    }
+}
@@ -0,0 +1,72 @@
+package com.blog_api.dto;
+
+import java.time.LocalDateTime;
+
+// Ce qui détermine la représentation d'un article sans son contenu : version de l'entité et compteurs
+// tenus hors de l'entité (vues, likes, commentaires). Sert à calculer l'ETag.
+public class ArticleVersionDTO {
+    private Long version;
+    private LocalDateTime datePublication;
+    private LocalDateTime dateModification;
+    private Integer nombreVues;
+    private Integer nombreLikes;
+    private Integer nombreCommentaires;
+
+    public ArticleVersionDTO(Long version, LocalDateTime datePublication, LocalDateTime dateModification,
+                             Integer nombreVues, Integer nombreLikes, Integer nombreCommentaires) {
+        this.version = version;
+        this.datePublication = datePublication;
+        this.dateModification = dateModification;
+        this.nombreVues = nombreVues;
+        this.nombreLikes = nombreLikes;
+        this.nombreCommentaires = nombreCommentaires;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getDatePublication() {
+        return datePublication;
+    }
+
+    public LocalDateTime getDateModification() {
+        return dateModification;
+    }
+
+    public Integer getNombreVues() {
+        return nombreVues;
+    }
+
+    public Integer getNombreLikes() {
+        return nombreLikes;
+    }
+
+    public Integer getNombreCommentaires() {
+        return nombreCommentaires;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public void setDatePublication(LocalDateTime datePublication) {
+        this.datePublication = datePublication;
+    }
+
+    public void setDateModification(LocalDateTime dateModification) {
+        this.dateModification = dateModification;
+    }
+
+    public void setNombreVues(Integer nombreVues) {
+        this.nombreVues = nombreVues;
+    }
+
+    public void setNombreLikes(Integer nombreLikes) {
+        this.nombreLikes = nombreLikes;
+    }
+
+    public void setNombreCommentaires(Integer nombreCommentaires) {
+        this.nombreCommentaires = nombreCommentaires;
+    }
+}
@@ -0,0 +1,73 @@
+package com.blog_api.dto;
+
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Bilan d'un import en masse : compteurs et détail des lignes rejetées (plafonné)
+public class BulkImportReportDTO {
+    public static final int MAX_ERREURS = 1000;
+
+    private long lignesLues;
+    private long inserees;
+    private long rejetees;
+    private long dureeMs;
+    private List<LigneEnErreur> erreurs = new ArrayList<>();
+
+    public void ligneLue() {
+        lignesLues++;
+    }
+
+    public void inserees(long count) {
+        inserees += count;
+    }
+
+    public void rejeter(long ligne, String message) {
+        rejetees++;
+        if (erreurs.size() < MAX_ERREURS) {
+            erreurs.add(new LigneEnErreur(ligne, message));
+        }
+    }
+
+    public long getLignesLues() {
+        return lignesLues;
+    }
+
+    public long getInserees() {
+        return inserees;
+    }
+
+    public long getRejetees() {
+        return rejetees;
+    }
+
+    public long getDureeMs() {
+        return dureeMs;
+    }
+
+    public List<LigneEnErreur> getErreurs() {
+        return erreurs;
+    }
+
+    public void setDureeMs(long dureeMs) {
+        this.dureeMs = dureeMs;
+    }
+
+    public static class LigneEnErreur {
+        private final long ligne;
+        private final String message;
+
+        public LigneEnErreur(long ligne, String message) {
+            this.ligne = ligne;
+            this.message = message;
+        }
+
+        public long getLigne() {
+            return ligne;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
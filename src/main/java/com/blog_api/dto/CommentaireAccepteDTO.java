@@ -0,0 +1,41 @@
+package com.blog_api.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Réponse de l'ingestion asynchrone : le commentaire est en file, son id définitif n'existe pas encore
+public class CommentaireAccepteDTO {
+    private UUID idProvisoire;
+    private Long articleId;
+    private LocalDateTime dateCreation;
+
+    public CommentaireAccepteDTO(UUID idProvisoire, Long articleId, LocalDateTime dateCreation) {
+        this.idProvisoire = idProvisoire;
+        this.articleId = articleId;
+        this.dateCreation = dateCreation;
+    }
+
+    public UUID getIdProvisoire() {
+        return idProvisoire;
+    }
+
+    public Long getArticleId() {
+        return articleId;
+    }
+
+    public LocalDateTime getDateCreation() {
+        return dateCreation;
+    }
+
+    public void setIdProvisoire(UUID idProvisoire) {
+        this.idProvisoire = idProvisoire;
+    }
+
+    public void setArticleId(Long articleId) {
+        this.articleId = articleId;
+    }
+
+    public void setDateCreation(LocalDateTime dateCreation) {
+        this.dateCreation = dateCreation;
+    }
+}
@@ -1,15 +1,22 @@
 package com.blog_api.dto;
 
 
+import java.time.LocalDateTime;
+
 public class CommentaireDTO {
     private Long id;
     private String auteur;
     private String contenu;
+    private LocalDateTime dateCreation;
+    private LocalDateTime dateModification;
 
-    public CommentaireDTO(Long id, String auteur, String contenu) {
+    public CommentaireDTO(Long id, String auteur, String contenu,
+                          LocalDateTime dateCreation, LocalDateTime dateModification) {
         this.id = id;
         this.auteur = auteur;
         this.contenu = contenu;
+        this.dateCreation = dateCreation;
+        this.dateModification = dateModification;
     }
 
     public Long getId() {
@@ -24,6 +31,14 @@ public class CommentaireDTO {
         return contenu;
     }
 
+    public LocalDateTime getDateCreation() {
+        return dateCreation;
+    }
+
+    public LocalDateTime getDateModification() {
+        return dateModification;
+    }
+
     public void setId(Long id) {
         this.id = id;
     }
@@ -35,5 +50,12 @@ public class CommentaireDTO {
     public void setContenu(String contenu) {
         this.contenu = contenu;
     }
-}
 
+    public void setDateCreation(LocalDateTime dateCreation) {
+        this.dateCreation = dateCreation;
+    }
+
+    public void setDateModification(LocalDateTime dateModification) {
+        this.dateModification = dateModification;
+    }
+}
@@ -0,0 +1,30 @@
+package com.blog_api.dto;
+
+import java.util.List;
+
+// Page de résultats paginée par curseur (keyset) : "next" est null sur la dernière page
+public class CursorPage<T> {
+    private List<T> items;
+    private String next;
+
+    public CursorPage(List<T> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+}
@@ -0,0 +1,51 @@
+package com.blog_api.dto;
+
+
+import java.util.List;
+
+// Page de résultats de recherche, triés par pertinence décroissante
+public class SearchResultDTO {
+    private List<ArticleSearchHitDTO> resultats;
+    private long total;
+    private int page;
+    private int size;
+
+    public SearchResultDTO(List<ArticleSearchHitDTO> resultats, long total, int page, int size) {
+        this.resultats = resultats;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+    }
+
+    public List<ArticleSearchHitDTO> getResultats() {
+        return resultats;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setResultats(List<ArticleSearchHitDTO> resultats) {
+        this.resultats = resultats;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
@@ -0,0 +1,25 @@
+-- Schéma de la base H2 (tests, démonstrations) ; même contenu que db/migration/postgresql
+CREATE TABLE IF NOT EXISTS articles (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    titre             VARCHAR(200)     NOT NULL,
+    contenu           VARCHAR(1000000) NOT NULL,
+    auteur            VARCHAR(100),
+    category          VARCHAR(100),
+    date_publication  TIMESTAMP(6)     NOT NULL,
+    date_modification TIMESTAMP(6),
+    nombre_vues       INTEGER,
+    nombre_likes      INTEGER,
+    est_publie        BOOLEAN,
+    image_url         VARCHAR(255),
+    resume            VARCHAR(500),
+    slug              VARCHAR(255) UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS commentaires (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    contenu           VARCHAR(255),
+    auteur            VARCHAR(255),
+    date_creation     TIMESTAMP(6),
+    date_modification TIMESTAMP(6),
+    article_id        BIGINT REFERENCES articles (id)
+);
@@ -0,0 +1,2 @@
+ALTER TABLE articles ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE commentaires ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
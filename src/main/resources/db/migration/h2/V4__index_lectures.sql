@@ -0,0 +1,6 @@
+-- H2 n'a pas d'index sur expression : mêmes noms qu'en PostgreSQL, sur les colonnes elles-mêmes
+CREATE INDEX IF NOT EXISTS idx_articles_category_lower ON articles (category, date_publication DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_articles_auteur_lower ON articles (auteur, date_publication DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_articles_date_publication ON articles (date_publication DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_articles_nombre_vues ON articles (nombre_vues DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_commentaires_article_date ON commentaires (article_id, date_creation);
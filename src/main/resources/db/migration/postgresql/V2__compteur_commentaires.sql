@@ -0,0 +1,5 @@
+-- Nombre de commentaires dénormalisé (voir CommentaireService et CommentaireCountReconciler)
+ALTER TABLE articles ADD COLUMN IF NOT EXISTS nombre_commentaires INTEGER DEFAULT 0;
+
+UPDATE articles a
+SET nombre_commentaires = (SELECT COUNT(*) FROM commentaires c WHERE c.article_id = a.id);
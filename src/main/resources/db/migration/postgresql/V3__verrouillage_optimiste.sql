@@ -0,0 +1,3 @@
+-- Colonnes @Version (ETag, If-Match) ; la valeur par défaut couvre les insertions JDBC
+ALTER TABLE articles ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE commentaires ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,22 @@
+-- Index des lectures fréquentes, vérifiés au démarrage par SchemaIndexVerifier.
+-- CONCURRENTLY : pas de verrou d'écriture sur les tables pendant la construction ; Flyway exécute
+-- alors ce script hors transaction.
+
+-- Pages de catégorie et d'auteur : filtre insensible à la casse puis tri du plus récent au plus ancien
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_articles_category_lower
+    ON articles (LOWER(category), date_publication DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_articles_auteur_lower
+    ON articles (LOWER(auteur), date_publication DESC, id DESC);
+
+-- Articles récents et pagination keyset sur (date_publication, id)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_articles_date_publication
+    ON articles (date_publication DESC, id DESC);
+
+-- Articles les plus vus
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_articles_nombre_vues
+    ON articles (nombre_vues DESC, id DESC);
+
+-- Fil de commentaires d'un article, du plus ancien au plus récent
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_commentaires_article_date
+    ON commentaires (article_id, date_creation);
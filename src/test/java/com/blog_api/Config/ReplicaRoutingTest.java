@@ -0,0 +1,151 @@
+package com.blog_api.Config;
+
+import com.blog_api.Model.Article;
+import com.blog_api.Service.ArticleService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Deux « réplicas » ouverts sur la même base H2 que le primaire : seuls les pools servis changent.
+// Le retard de réplication est lu dans une table que le test fait varier.
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replicas;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///replicas?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "blog.search.rebuild-on-startup=false",
+        "blog.comments.journal=target/replicas-commentaires.ndjson",
+        "blog.datasource.replica.urls=jdbc:h2:mem:replicas;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE," +
+                "jdbc:h2:mem:replicas;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "blog.datasource.replica.lag-query=SELECT COALESCE(MAX(secondes), 0) FROM retard_replica",
+        "blog.datasource.replica.lag-check-ms=3600000"
+})
+class ReplicaRoutingTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaDataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private String count;
+
+    @BeforeEach
+    void createArticleAndMeasureLag() {
+        Article article = new Article();
+        article.setTitre("Article répliqué");
+        article.setContenu("Contenu");
+        count = "/api/articles/" + articleService.create(article).getId() + "/commentaires/count";
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS retard_replica (secondes DOUBLE PRECISION)");
+        jdbcTemplate.update("DELETE FROM retard_replica");
+        replicaDataSource.checkLag();
+    }
+
+    private Map<String, Double> reads() {
+        return Map.of(
+                "replica-1", registry.counter("blog.datasource.reads", "pool", "replica-1", "reason", "replica").count(),
+                "replica-2", registry.counter("blog.datasource.reads", "pool", "replica-2", "reason", "replica").count(),
+                "fallback", registry.counter("blog.datasource.reads", "pool", "primary", "reason", "fallback").count(),
+                "sticky", registry.counter("blog.datasource.reads", "pool", "primary", "reason", "sticky").count());
+    }
+
+    private double delta(Map<String, Double> before, String pool) {
+        return reads().get(pool) - before.get(pool);
+    }
+
+    @Test
+    void readOnlyTransactionsAlternateBetweenReplicas() throws Exception {
+        Map<String, Double> before = reads();
+        for (int i = 0; i < 4; i++) {
+            mvc.perform(get(count)).andExpect(status().isOk());
+        }
+        assertThat(delta(before, "replica-1")).isEqualTo(2);
+        assertThat(delta(before, "replica-2")).isEqualTo(2);
+        assertThat(delta(before, "fallback")).isZero();
+    }
+
+    @Test
+    void sessionReadsItsOwnWritesOnThePrimary() throws Exception {
+        mvc.perform(post(count.replace("/count", "")).header("X-Session-Id", "alice")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"contenu\":\"Premier !\",\"auteur\":\"Alice\"}"))
+                .andExpect(status().isCreated());
+
+        Map<String, Double> before = reads();
+        mvc.perform(get(count).header("X-Session-Id", "alice")).andExpect(status().isOk());
+        assertThat(delta(before, "sticky")).isEqualTo(1);
+
+        before = reads();
+        mvc.perform(get(count).header("X-Session-Id", "bob")).andExpect(status().isOk());
+        assertThat(delta(before, "sticky")).isZero();
+        assertThat(delta(before, "replica-1") + delta(before, "replica-2")).isEqualTo(1);
+    }
+
+    @Test
+    void updatesReadTheCurrentVersionOnThePrimary() throws Exception {
+        String article = count.replace("/api/articles/", "/api/v1/articles/").replace("/commentaires/count", "");
+        String etag = mvc.perform(get(article)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        Map<String, Double> before = reads();
+        mvc.perform(put(article).header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"titre\":\"Article modifié\",\"contenu\":\"Contenu\"}"))
+                .andExpect(status().isOk());
+        assertThat(delta(before, "replica-1") + delta(before, "replica-2")).isZero();
+    }
+
+    @Test
+    void laggingReplicasFallBackToThePrimary() throws Exception {
+        jdbcTemplate.update("INSERT INTO retard_replica (secondes) VALUES (5)");
+        replicaDataSource.checkLag();
+
+        Map<String, Double> before = reads();
+        mvc.perform(get(count)).andExpect(status().isOk());
+        assertThat(delta(before, "fallback")).isEqualTo(1);
+        assertThat(delta(before, "replica-1") + delta(before, "replica-2")).isZero();
+    }
+
+    @Test
+    void explicitCredentialsAreHandedToTheChosenPool() throws Exception {
+        // Hikari refuse des identifiants autres que les siens : l'erreur remonte sans écarter le réplica
+        assertThatThrownBy(() -> replicaDataSource.getConnection("sa", ""))
+                .isInstanceOf(SQLFeatureNotSupportedException.class);
+
+        Map<String, Double> before = reads();
+        mvc.perform(get(count)).andExpect(status().isOk());
+        assertThat(delta(before, "replica-1") + delta(before, "replica-2")).isEqualTo(1);
+        assertThat(delta(before, "fallback")).isZero();
+    }
+}
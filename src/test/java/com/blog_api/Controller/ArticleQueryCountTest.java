@@ -0,0 +1,206 @@
+package com.blog_api.Controller;
+
+import com.blog_api.Model.Article;
+import com.blog_api.Service.ArticleService;
+import com.blog_api.Util.QueryCountFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Plan de chargement de chaque lecture d'articles : nombre de requêtes SQL borné, aucune collection
+// de commentaires chargée (les listes sont des projections, le détail n'y touche pas) et aucun flush,
+// chaque lecture tournant dans une transaction en lecture seule
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:articlequerycount;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///articlequerycount?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "blog.search.rebuild-on-startup=false",
+        "blog.comments.journal=target/articlequerycount-commentaires.ndjson"
+})
+class ArticleQueryCountTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Article article;
+
+    @BeforeEach
+    void createArticleAndClearCaches() {
+        Article nouveau = new Article();
+        nouveau.setTitre("Plan de chargement " + System.nanoTime());
+        nouveau.setContenu("Lectures en transaction seule");
+        nouveau.setAuteur("Alice");
+        nouveau.setCategory("Java");
+        article = articleService.create(nouveau);
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    private int queries(RequestBuilder request) throws Exception {
+        Object count = mvc.perform(request)
+                .andExpect(status().is2xxSuccessful())
+                .andReturn().getRequest().getAttribute(QueryCountFilter.QUERY_COUNT_ATTRIBUTE);
+        return (Integer) count;
+    }
+
+    @Test
+    void articleListsTakeOneQuery() throws Exception {
+        String base = "/api/v1/articles";
+        assertThat(queries(get(base).param("size", "5"))).isEqualTo(1);
+        assertThat(queries(get(base + "/categorie/java"))).isEqualTo(1);
+        assertThat(queries(get(base + "/auteur/alice"))).isEqualTo(1);
+        assertThat(queries(get(base + "/recents"))).isEqualTo(1);
+        assertThat(queries(get(base + "/populaires"))).isEqualTo(1);
+        assertThat(queries(get(base + "/recherche").param("keyword", "chargement"))).isEqualTo(1);
+    }
+
+    @Test
+    void cachedListsAndDetailsSkipTheDatabase() throws Exception {
+        String base = "/api/v1/articles";
+        queries(get(base + "/categorie/java"));
+        queries(get(base + "/recents"));
+        assertThat(queries(get(base + "/categorie/java"))).isZero();
+        assertThat(queries(get(base + "/recents"))).isZero();
+
+        // Validateurs puis entité au premier passage, tout en cache ensuite
+        assertThat(queries(get(base + "/" + article.getId()))).isLessThanOrEqualTo(2);
+        assertThat(queries(get(base + "/" + article.getId()))).isZero();
+        assertThat(queries(get(base + "/slug/" + article.getSlug()))).isZero();
+    }
+
+    @Test
+    void gzipVariantHasItsOwnEntityTag() throws Exception {
+        Article compresse = new Article();
+        compresse.setTitre("Article compressé " + System.nanoTime());
+        compresse.setContenu("Un contenu assez long pour être compressé. ".repeat(100));
+        String url = "/api/v1/articles/" + articleService.create(compresse).getId();
+
+        MockHttpServletResponse json = mvc.perform(get(url)).andExpect(status().isOk()).andReturn().getResponse();
+        MockHttpServletResponse gzip = mvc.perform(get(url).header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk()).andReturn().getResponse();
+        assertThat(gzip.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(json.getHeader("Content-Encoding")).isNull();
+        assertThat(gzip.getHeader("ETag")).isNotEqualTo(json.getHeader("ETag")).endsWith("-gzip\"");
+
+        // Chaque variante est revalidée par son propre ETag, renvoyé tel quel avec le 304
+        for (String etag : new String[]{json.getHeader("ETag"), gzip.getHeader("ETag")}) {
+            MockHttpServletResponse notModified = mvc.perform(get(url).header("Accept-Encoding", "gzip")
+                            .header("If-None-Match", etag))
+                    .andExpect(status().isNotModified()).andReturn().getResponse();
+            assertThat(notModified.getHeader("ETag")).isEqualTo(etag);
+        }
+    }
+
+    @Test
+    void articleDetailTakesAtMostTwoQueries() throws Exception {
+        String detail = "/api/v1/articles/" + article.getId() + "/detail";
+        for (int i = 0; i < 3; i++) {
+            mvc.perform(post("/api/articles/" + article.getId() + "/commentaires")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"contenu\":\"Commentaire " + i + "\",\"auteur\":\"Bob\"}"))
+                    .andExpect(status().isCreated());
+        }
+
+        // Article et première page au premier passage, compteur et première page ensuite
+        assertThat(queries(get(detail).param("commentaires", "2"))).isLessThanOrEqualTo(2);
+        assertThat(queries(get(detail).param("commentaires", "2"))).isLessThanOrEqualTo(2);
+
+        JsonNode body = detail(detail);
+        assertThat(body.path("article").path("id").asLong()).isEqualTo(article.getId());
+        assertThat(body.path("commentaires")).hasSize(2);
+        assertThat(body.path("nombreCommentaires").asLong()).isEqualTo(3);
+        assertThat(body.path("article").path("nombreCommentaires").asLong()).isEqualTo(3);
+        assertThat(body.path("next").isTextual()).isTrue();
+
+        // Commentaire écrit hors application, article toujours en cache : les deux totaux suivent
+        jdbcTemplate.update("INSERT INTO commentaires (contenu, auteur, date_creation, article_id) " +
+                "VALUES ('Direct', 'Bob', CURRENT_TIMESTAMP, ?)", article.getId());
+        jdbcTemplate.update("UPDATE articles SET nombre_commentaires = nombre_commentaires + 1 WHERE id = ?",
+                article.getId());
+        body = detail(detail);
+        assertThat(body.path("nombreCommentaires").asLong()).isEqualTo(4);
+        assertThat(body.path("article").path("nombreCommentaires").asLong()).isEqualTo(4);
+    }
+
+    @Test
+    void invalidCursorOrSizeIsABadRequest() throws Exception {
+        String base = "/api/v1/articles";
+        mvc.perform(get(base).param("cursor", "pas-un-curseur")).andExpect(status().isBadRequest());
+        mvc.perform(get(base).param("size", "0")).andExpect(status().isBadRequest());
+        mvc.perform(get(base + "/recherche").param("keyword", "chargement").param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void articleDetailRejectsAnOutOfRangeCommentCount() throws Exception {
+        String detail = "/api/v1/articles/" + article.getId() + "/detail";
+        mvc.perform(get(detail).param("commentaires", "0")).andExpect(status().isBadRequest());
+        mvc.perform(get(detail).param("commentaires", "101")).andExpect(status().isBadRequest());
+    }
+
+    private JsonNode detail(String detail) throws Exception {
+        String json = mvc.perform(get(detail).param("commentaires", "2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json);
+    }
+
+    @Test
+    void readsNeitherFlushNorLoadComments() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        String base = "/api/v1/articles";
+        queries(get(base).param("size", "5"));
+        queries(get(base + "/" + article.getId()));
+        queries(get(base + "/slug/" + article.getSlug()));
+        queries(get(base + "/categorie/java"));
+        queries(get(base + "/auteur/alice"));
+        queries(get(base + "/recents"));
+        queries(get(base + "/populaires"));
+        queries(get(base + "/recherche").param("keyword", "chargement"));
+        queries(get("/api/articles/" + article.getId() + "/commentaires"));
+        queries(get("/api/articles/" + article.getId() + "/commentaires/count"));
+
+        assertThat(statistics.getFlushCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+}
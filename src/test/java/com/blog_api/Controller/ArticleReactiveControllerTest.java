@@ -0,0 +1,124 @@
+package com.blog_api.Controller;
+
+import com.blog_api.Model.Article;
+import com.blog_api.Model.Commentaire;
+import com.blog_api.Service.ArticleService;
+import com.blog_api.Service.CommentaireService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// API v2 servie par R2DBC (H2 en mémoire, base partagée avec JPA qui prépare les données), interrogée
+// par un vrai client HTTP : le format du flux dépend de l'en-tête Accept et les erreurs de saisie
+// comme l'article inconnu sont répondues avant que le flux ne commence
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "blog.search.rebuild-on-startup=false",
+        "blog.comments.journal=target/reactive-commentaires.ndjson"
+})
+class ArticleReactiveControllerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private CommentaireService commentaireService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long articleId;
+
+    @BeforeEach
+    void createArticlesAndComments() {
+        for (int i = 0; i < 3; i++) {
+            Article article = new Article();
+            article.setTitre("Réactif " + System.nanoTime());
+            article.setContenu("Contenu");
+            article.setCategory("Reactif");
+            articleId = articleService.create(article).getId();
+        }
+        commentaireService.ajouterCommentaire(articleId, new Commentaire("Premier", "Alice"));
+        commentaireService.ajouterCommentaire(articleId, new Commentaire("Second", "Bob"));
+    }
+
+    private HttpResponse<String> get(String path, String accept) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", accept)
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static List<String> lines(HttpResponse<String> response) {
+        return response.body().lines().filter(line -> !line.isBlank()).toList();
+    }
+
+    @Test
+    void negotiatesNdjsonOrServerSentEvents() throws Exception {
+        HttpResponse<String> ndjson = get("/api/v2/articles?limit=2", MediaType.APPLICATION_NDJSON_VALUE);
+        assertThat(ndjson.statusCode()).isEqualTo(200);
+        assertThat(ndjson.headers().firstValue("Content-Type")).hasValueSatisfying(type ->
+                assertThat(type).startsWith(MediaType.APPLICATION_NDJSON_VALUE));
+        assertThat(lines(ndjson)).hasSize(2);
+        assertThat(objectMapper.readTree(lines(ndjson).get(0)).path("id").asLong()).isEqualTo(articleId);
+
+        HttpResponse<String> sse = get("/api/v2/articles/categorie/reactif?limit=2", MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(sse.statusCode()).isEqualTo(200);
+        assertThat(sse.headers().firstValue("Content-Type")).hasValueSatisfying(type ->
+                assertThat(type).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+        assertThat(lines(sse)).hasSize(2).allSatisfy(line -> assertThat(line).startsWith("data:"));
+    }
+
+    @Test
+    void limitOutsideItsBoundsIsABadRequest() throws Exception {
+        assertThat(get("/api/v2/articles?limit=0", MediaType.APPLICATION_NDJSON_VALUE).statusCode()).isEqualTo(400);
+        assertThat(get("/api/v2/articles?limit=1001", MediaType.APPLICATION_NDJSON_VALUE).statusCode()).isEqualTo(400);
+        assertThat(get("/api/v2/articles/categorie/reactif?limit=1001", MediaType.TEXT_EVENT_STREAM_VALUE).statusCode())
+                .isEqualTo(400);
+        assertThat(get("/api/v2/articles?limit=1000", MediaType.APPLICATION_NDJSON_VALUE).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void commentThreadStreamsOrAnswersNotFound() throws Exception {
+        HttpResponse<String> thread = get("/api/v2/articles/" + articleId + "/commentaires",
+                MediaType.APPLICATION_NDJSON_VALUE);
+        assertThat(thread.statusCode()).isEqualTo(200);
+        assertThat(lines(thread)).extracting(line -> objectMapper.readTree(line).path("contenu").asText())
+                .containsExactly("Premier", "Second");
+
+        HttpResponse<String> vide = get("/api/v2/articles/" + (articleId - 1) + "/commentaires",
+                MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(vide.statusCode()).isEqualTo(200);
+        assertThat(lines(vide)).isEmpty();
+
+        assertThat(get("/api/v2/articles/-1/commentaires", MediaType.APPLICATION_NDJSON_VALUE).statusCode())
+                .isEqualTo(404);
+        assertThat(get("/api/v2/articles/-1/commentaires", MediaType.TEXT_EVENT_STREAM_VALUE).statusCode())
+                .isEqualTo(404);
+    }
+}
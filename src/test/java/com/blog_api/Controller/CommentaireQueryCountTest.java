@@ -0,0 +1,193 @@
+package com.blog_api.Controller;
+
+import com.blog_api.Model.Article;
+import com.blog_api.Model.Commentaire;
+import com.blog_api.Service.ArticleService;
+import com.blog_api.Service.CommentaireCountReconciler;
+import com.blog_api.Service.CommentaireService;
+import com.blog_api.Util.QueryCountFilter;
+import com.blog_api.Util.QueryCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Garde-fou contre le retour des allers-retours multiples : chaque lecture de commentaires tient en une requête
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///querycount?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "blog.search.rebuild-on-startup=false",
+        "blog.comments.journal=target/querycount-commentaires.ndjson"
+})
+class CommentaireQueryCountTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private CommentaireService commentaireService;
+
+    @Autowired
+    private CommentaireCountReconciler reconciler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long articleId;
+    private Long commentId;
+
+    @BeforeEach
+    void createArticleWithComments() {
+        Article article = new Article();
+        article.setTitre("Fil de discussion");
+        article.setContenu("Contenu");
+        articleId = articleService.create(article).getId();
+        for (int i = 0; i < 3; i++) {
+            commentId = commentaireService.ajouterCommentaire(articleId, new Commentaire("Message " + i, "Bob")).getId();
+        }
+    }
+
+    private int queries(RequestBuilder request) throws Exception {
+        Object count = mvc.perform(request)
+                .andExpect(status().is2xxSuccessful())
+                .andReturn().getRequest().getAttribute(QueryCountFilter.QUERY_COUNT_ATTRIBUTE);
+        return (Integer) count;
+    }
+
+    @Test
+    void commentReadsTakeOneQuery() throws Exception {
+        String base = "/api/articles/" + articleId + "/commentaires";
+        assertThat(queries(get(base).param("size", "2"))).isEqualTo(1);
+        assertThat(queries(get(base + "/count"))).isEqualTo(1);
+        assertThat(queries(get(base + "/recents"))).isEqualTo(1);
+        assertThat(queries(get(base + "/auteur/bob"))).isEqualTo(1);
+        assertThat(queries(get(base + "/recherche").param("keyword", "absent"))).isEqualTo(1);
+        assertThat(queries(get(base + "/" + commentId + "/exists"))).isEqualTo(1);
+    }
+
+    @Test
+    void invalidCursorOrSizeIsABadRequest() throws Exception {
+        String base = "/api/articles/" + articleId + "/commentaires";
+        mvc.perform(get(base).param("cursor", "pas-un-curseur")).andExpect(status().isBadRequest());
+        mvc.perform(get(base).param("size", "0")).andExpect(status().isBadRequest());
+        mvc.perform(get(base).param("size", "101")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void missingArticleIsDetectedByTheSameQuery() {
+        QueryCounter.reset();
+        assertThatThrownBy(() -> commentaireService.countCommentairesByArticle(-1L))
+                .hasMessageContaining("Article non trouvé");
+        assertThatThrownBy(() -> commentaireService.getRecentCommentaires(-1L))
+                .hasMessageContaining("Article non trouvé");
+        assertThat(QueryCounter.count()).isEqualTo(2);
+    }
+
+    @Test
+    void addingACommentDoesNotReadTheArticle() {
+        QueryCounter.reset();
+        commentaireService.ajouterCommentaire(articleId, new Commentaire("Encore un", "Bob"));
+        // Incrément du compteur (qui vérifie l'existence de l'article) puis insertion
+        assertThat(QueryCounter.count()).isEqualTo(2);
+
+        assertThatThrownBy(() -> commentaireService.ajouterCommentaire(-1L, new Commentaire("Perdu", "Bob")))
+                .hasMessageContaining("Article non trouvé");
+    }
+
+    @Test
+    void commentCountIsMaintainedAndReconciled() {
+        assertThat(commentaireService.countCommentairesByArticle(articleId)).isEqualTo(3);
+        commentaireService.delete(articleId, commentId);
+        assertThat(commentaireService.countCommentairesByArticle(articleId)).isEqualTo(2);
+
+        jdbcTemplate.update("UPDATE articles SET nombre_commentaires = 40 WHERE id = ?", articleId);
+        assertThat(reconciler.reconcile()).isEqualTo(1);
+        assertThat(commentaireService.countCommentairesByArticle(articleId)).isEqualTo(2);
+    }
+
+    private long nombreCommentairesServi() throws Exception {
+        String json = mvc.perform(get("/api/v1/articles/" + articleId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).path("nombreCommentaires").asLong();
+    }
+
+    @Test
+    void cachedArticleFollowsItsCommentCount() throws Exception {
+        assertThat(nombreCommentairesServi()).isEqualTo(3);
+        String etag = mvc.perform(get("/api/v1/articles/" + articleId)).andReturn().getResponse().getHeader("ETag");
+
+        commentaireService.ajouterCommentaire(articleId, new Commentaire("Un de plus", "Bob"));
+        assertThat(nombreCommentairesServi()).isEqualTo(4);
+        assertThat(mvc.perform(get("/api/v1/articles/" + articleId)).andReturn().getResponse().getHeader("ETag"))
+                .isNotEqualTo(etag);
+
+        commentaireService.delete(articleId, commentId);
+        assertThat(nombreCommentairesServi()).isEqualTo(3);
+
+        mvc.perform(post("/api/articles/" + articleId + "/commentaires/asynchrone")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"contenu\":\"Par lot\",\"auteur\":\"Bob\"}"))
+                .andExpect(status().isAccepted());
+        await().atMost(Duration.ofSeconds(5)).until(() -> nombreCommentairesServi() == 4);
+
+        // Commentaire écrit hors application : visible après réconciliation
+        jdbcTemplate.update("INSERT INTO commentaires (contenu, auteur, date_creation, article_id) " +
+                "VALUES ('Direct', 'Bob', CURRENT_TIMESTAMP, ?)", articleId);
+        assertThat(nombreCommentairesServi()).isEqualTo(4);
+        reconciler.reconcile();
+        assertThat(nombreCommentairesServi()).isEqualTo(5);
+    }
+
+    @Test
+    void newCommentsAreNeverAnsweredNotModified() throws Exception {
+        MockHttpServletResponse premiere = mvc.perform(get("/api/v1/articles/" + articleId)).andReturn().getResponse();
+        assertThat(premiere.getHeader("Last-Modified")).isNull();
+
+        commentaireService.ajouterCommentaire(articleId, new Commentaire("Un de plus", "Bob"));
+        // La date de l'article n'a pas bougé : If-Modified-Since ne vaut pas validateur
+        mvc.perform(get("/api/v1/articles/" + articleId).header("If-Modified-Since", "Fri, 31 Dec 2100 23:59:59 GMT"))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/v1/articles/" + articleId).header("If-None-Match", premiere.getHeader("ETag")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void deletesDoNotLoadEntities() throws Exception {
+        // Décrément du compteur de l'article puis suppression du commentaire
+        assertThat(queries(delete("/api/articles/" + articleId + "/commentaires/" + commentId))).isEqualTo(2);
+        // Projection slug/catégorie, suppression des commentaires, suppression de l'article
+        assertThat(queries(delete("/api/v1/articles/" + articleId))).isEqualTo(3);
+    }
+}
@@ -0,0 +1,74 @@
+package com.blog_api.Search;
+
+import com.blog_api.Model.Article;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleSearchIndexTest {
+
+    private static Article article(long id, String titre, String contenu) {
+        return Article.builder().id(id).titre(titre).contenu(contenu).category("tech").auteur("Alice").build();
+    }
+
+    @Test
+    void ranksTitleMatchesFirstAndIgnoresAccents() {
+        ArticleSearchIndex index = new ArticleSearchIndex();
+        index.index(article(1, "Notes diverses", "On parle un peu de Spring ici."));
+        index.index(article(2, "Découvrir Spring Boot", "Un guide complet."));
+        index.index(article(3, "Recettes d'été", "Rien à voir."));
+
+        ArticleSearchIndex.SearchResult result = index.search("spring", 0, 10);
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.hits()).extracting(ArticleSearchIndex.Hit::articleId).containsExactly(2L, 1L);
+
+        assertThat(index.search("ETE", 0, 10).hits())
+                .extracting(ArticleSearchIndex.Hit::articleId).containsExactly(3L);
+    }
+
+    @Test
+    void updatesAndRemovalsAreReflected() {
+        ArticleSearchIndex index = new ArticleSearchIndex();
+        index.index(article(1, "Java", "Les threads virtuels"));
+        index.index(article(1, "Java", "Le ramasse-miettes"));
+
+        assertThat(index.search("threads", 0, 10).total()).isZero();
+        assertThat(index.search("miettes", 0, 10).total()).isEqualTo(1);
+
+        index.remove(1L);
+        assertThat(index.search("java", 0, 10).total()).isZero();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void pagesThroughRankedResults() {
+        ArticleSearchIndex index = new ArticleSearchIndex();
+        for (long id = 1; id <= 25; id++) {
+            index.index(article(id, "Article " + id, "kotlin ".repeat((int) id)));
+        }
+
+        ArticleSearchIndex.SearchResult second = index.search("kotlin", 1, 10);
+        assertThat(second.total()).isEqualTo(25);
+        assertThat(second.hits()).hasSize(10);
+        assertThat(second.hits().get(0).articleId()).isEqualTo(15L);
+    }
+
+    @Test
+    void farPagesAreEmptyInsteadOfOverflowing() {
+        ArticleSearchIndex index = new ArticleSearchIndex();
+        index.index(article(1, "Kotlin", "Coroutines"));
+
+        ArticleSearchIndex.SearchResult result = index.search("kotlin", Integer.MAX_VALUE, 10);
+        assertThat(result.total()).isEqualTo(1);
+        assertThat(result.hits()).isEmpty();
+        assertThat(index.search("kotlin", 1, Integer.MAX_VALUE).hits()).isEmpty();
+    }
+
+    @Test
+    void highlightsMatchedTermsInSnippet() {
+        String snippet = SnippetHighlighter.highlight("Un été <chaud> à Paris", List.of("ete"), 200);
+        assertThat(snippet).isEqualTo("Un <mark>été</mark> &lt;chaud&gt; à Paris");
+    }
+}
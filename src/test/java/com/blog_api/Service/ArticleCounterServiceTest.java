@@ -0,0 +1,95 @@
+package com.blog_api.Service;
+
+import com.blog_api.Model.Article;
+import com.blog_api.Repository.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compteurs en écriture différée : un vidage n'est jamais défait par la sauvegarde d'un article lu avant lui,
+// et seuls les articles existants entrent au classement des plus vus
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:compteurs;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///compteurs?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "blog.search.rebuild-on-startup=false",
+        "blog.comments.journal=target/compteurs-commentaires.ndjson",
+        "blog.counters.flush-interval-ms=3600000"
+})
+class ArticleCounterServiceTest {
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleCounterService counterService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private PopularityLeaderboard leaderboard;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Article article;
+
+    @BeforeEach
+    void createArticle() {
+        Article nouveau = new Article();
+        nouveau.setTitre("Compteurs " + System.nanoTime());
+        nouveau.setContenu("Contenu");
+        article = articleService.create(nouveau);
+    }
+
+    private int vues(Long id) {
+        return jdbcTemplate.queryForObject("SELECT nombre_vues FROM articles WHERE id = ?", Integer.class, id);
+    }
+
+    @Test
+    void savingAnArticleReadBeforeAFlushKeepsTheFlushedCounters() {
+        Article lu = articleRepository.findById(article.getId()).orElseThrow();
+        counterService.enregistrerVue(article.getId());
+        counterService.enregistrerVue(article.getId());
+        counterService.ajouterLike(article.getId());
+        counterService.flush();
+
+        lu.setTitre("Titre modifié");
+        articleRepository.save(lu);
+
+        assertThat(vues(article.getId())).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT nombre_likes FROM articles WHERE id = ?", Integer.class,
+                article.getId())).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT titre FROM articles WHERE id = ?", String.class,
+                article.getId())).isEqualTo("Titre modifié");
+    }
+
+    @Test
+    void viewsOfUnknownArticlesStayOutOfTheLeaderboard() {
+        Long inconnu = article.getId() + 1_000_000;
+        leaderboard.recordViews(Map.of(inconnu, 50L));
+        counterService.enregistrerVue(inconnu);
+        counterService.enregistrerVue(article.getId());
+        counterService.flush();
+
+        for (PopularityLeaderboard.Periode periode : PopularityLeaderboard.Periode.values()) {
+            List<Long> top = leaderboard.top(periode, 1000);
+            assertThat(top).as(periode.name()).doesNotContain(inconnu);
+            assertThat(top).as(periode.name()).contains(article.getId());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.blog_api.Service;
+
+import com.blog_api.Model.Article;
+import com.blog_api.Repository.ArticleRepository;
+import com.blog_api.Search.ArticleSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Caches et index en mémoire suivent les transactions : une écriture annulée n'y laisse aucune trace
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:articleservice;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///articleservice?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "blog.search.rebuild-on-startup=false",
+        "blog.comments.journal=target/articleservice-commentaires.ndjson"
+})
+class ArticleServiceTest {
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleSearchIndex searchIndex;
+
+    @Autowired
+    private SlugIndex slugIndex;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static Article article(String titre) {
+        Article article = new Article();
+        article.setTitre(titre);
+        article.setContenu("Contenu");
+        return article;
+    }
+
+    @Test
+    void rolledBackWritesLeaveCachesAndIndexesUntouched() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        Article annule = transaction.execute(status -> {
+            Article created = articleService.create(article("Zanzibar jamais publié"));
+            status.setRollbackOnly();
+            return created;
+        });
+        assertThat(searchIndex.search("zanzibar", 0, 10).total()).isZero();
+        assertThat(slugIndex.get(annule.getSlug())).isNull();
+
+        Article publie = articleService.create(article("Tombouctou publié"));
+        assertThat(searchIndex.search("tombouctou", 0, 10).total()).isEqualTo(1);
+        assertThat(slugIndex.get(publie.getSlug())).isEqualTo(publie.getId());
+
+        transaction.executeWithoutResult(status -> {
+            articleService.update(publie.getId(), article("Ouagadougou renommé"), null);
+            status.setRollbackOnly();
+        });
+        assertThat(searchIndex.search("ouagadougou", 0, 10).total()).isZero();
+        assertThat(searchIndex.search("tombouctou", 0, 10).total()).isEqualTo(1);
+        assertThat(cacheManager.getCache(ArticleService.CACHE_ARTICLES).get(publie.getId())).isNull();
+
+        transaction.executeWithoutResult(status -> {
+            articleService.delete(publie.getId());
+            status.setRollbackOnly();
+        });
+        assertThat(searchIndex.search("tombouctou", 0, 10).total()).isEqualTo(1);
+        assertThat(slugIndex.get(publie.getSlug())).isEqualTo(publie.getId());
+    }
+
+    @Test
+    void slugWildcardsAreMatchedLiterally() {
+        Article voisin = article("Voisin");
+        voisin.setSlug("tarif-50-2");
+        articleService.create(voisin);
+        Article pourcent = article("Pourcentage");
+        pourcent.setSlug("tarif_50");
+        articleService.create(pourcent);
+
+        assertThat(articleRepository.findSlugsStartingWith("tarif_50")).containsExactly("tarif_50");
+        assertThat(articleRepository.findSlugsStartingWith("tarif%")).isEmpty();
+
+        Article doublon = article("Doublon");
+        doublon.setSlug("tarif_50");
+        assertThat(articleService.create(doublon).getSlug()).isEqualTo("tarif_50-2");
+    }
+}
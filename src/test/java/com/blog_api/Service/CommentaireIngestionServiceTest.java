@@ -0,0 +1,132 @@
+package com.blog_api.Service;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// Aucun commentaire accepté n'est perdu : la base indisponible fait réessayer le lot (et le laisse dans le
+// journal à l'arrêt), seules les lignes insérées ou rejetées définitivement sont confirmées
+class CommentaireIngestionServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private CommentaireIngestionService service;
+
+    @BeforeEach
+    void createSchema() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:ingestion-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate.execute("CREATE TABLE articles (id BIGINT PRIMARY KEY, nombre_commentaires INT)");
+        jdbcTemplate.execute("CREATE TABLE commentaires (id BIGINT AUTO_INCREMENT PRIMARY KEY, contenu TEXT, " +
+                "auteur VARCHAR(100), date_creation TIMESTAMP, article_id BIGINT REFERENCES articles (id))");
+        jdbcTemplate.update("INSERT INTO articles (id, nombre_commentaires) VALUES (1, 0)");
+    }
+
+    @AfterEach
+    void stop() throws Exception {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    private CommentaireIngestionService start(PlatformTransactionManager transactions) throws Exception {
+        CommentaireIngestionService ingestion = new CommentaireIngestionService(jdbcTemplate,
+                JsonMapper.builder().findAndAddModules().build(), event -> {
+        }, transactions, new SimpleMeterRegistry(), 100, 50, 10, dir.resolve("journal.ndjson"), false, 10, 50);
+        ingestion.start();
+        return ingestion;
+    }
+
+    private int commentaires() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM commentaires", Integer.class);
+    }
+
+    private long journal() throws Exception {
+        return Files.size(dir.resolve("journal.ndjson"));
+    }
+
+    // Échoue comme un pool épuisé tant que la base est "en panne"
+    private PlatformTransactionManager panne(AtomicInteger echecs) {
+        return new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                if (echecs.getAndDecrement() > 0) {
+                    throw new CannotCreateTransactionException("Connection is not available");
+                }
+                return transactionManager.getTransaction(definition);
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+                transactionManager.commit(status);
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+                transactionManager.rollback(status);
+            }
+        };
+    }
+
+    @Test
+    void transientOutageIsRetriedWithoutLosingComments() throws Exception {
+        service = start(panne(new AtomicInteger(5)));
+        service.accepter(1L, "Pendant la panne", "Alice");
+        service.accepter(1L, "Toujours pendant la panne", "Bob");
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> commentaires() == 2);
+        assertThat(jdbcTemplate.queryForObject("SELECT nombre_commentaires FROM articles WHERE id = 1", Integer.class))
+                .isEqualTo(2);
+        await().atMost(Duration.ofSeconds(5)).until(() -> journal() == 0);
+
+        // Le thread d'écriture a survécu
+        service.accepter(1L, "Après la panne", "Alice");
+        await().atMost(Duration.ofSeconds(5)).until(() -> commentaires() == 3);
+    }
+
+    @Test
+    void permanentlyRejectedRowsAreConfirmed() throws Exception {
+        service = start(transactionManager);
+        service.accepter(404L, "Article supprimé", "Alice");
+        service.accepter(1L, "Article existant", "Bob");
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> commentaires() == 1);
+        await().atMost(Duration.ofSeconds(5)).until(() -> journal() == 0);
+    }
+
+    @Test
+    void commentsStillPendingAtShutdownAreReplayed() throws Exception {
+        service = start(panne(new AtomicInteger(Integer.MAX_VALUE)));
+        service.accepter(1L, "Accepté pendant la panne", "Alice");
+        service.accepter(1L, "Lui aussi", "Bob");
+        Thread.sleep(100);
+        service.stop();
+        assertThat(commentaires()).isZero();
+
+        service = start(transactionManager);
+        await().atMost(Duration.ofSeconds(5)).until(() -> commentaires() == 2);
+    }
+}
@@ -0,0 +1,37 @@
+package com.blog_api.Service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Toute lecture des services tourne dans une transaction en lecture seule : pas de dirty checking
+// ni de flush à la validation, et routage vers les réplicas quand ils sont configurés. Les méthodes
+// des dépôts Spring Data le sont déjà, mais une lecture de service en enchaîne souvent plusieurs.
+class ReadOnlyTransactionsTest {
+
+    private static final List<String> PREFIXES_LECTURE = List.of("get", "search", "count", "stream", "abonner",
+            "commentaireBelongs");
+
+    @Test
+    void serviceReadsAreReadOnlyTransactions() {
+        for (Class<?> service : List.of(ArticleService.class, CommentaireService.class)) {
+            List<Method> lectures = Arrays.stream(service.getDeclaredMethods())
+                    .filter(method -> Modifier.isPublic(method.getModifiers()) && !Modifier.isStatic(method.getModifiers()))
+                    .filter(method -> PREFIXES_LECTURE.stream().anyMatch(method.getName()::startsWith))
+                    .toList();
+            assertThat(lectures).isNotEmpty();
+            for (Method lecture : lectures) {
+                Transactional transactional = lecture.getAnnotation(Transactional.class);
+                assertThat(transactional != null && transactional.readOnly())
+                        .as("%s.%s en @Transactional(readOnly = true)", service.getSimpleName(), lecture.getName())
+                        .isTrue();
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.blog_api.Service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlugIndexTest {
+
+    @Test
+    void putGetAndRemoveSurviveResizes() {
+        SlugIndex index = new SlugIndex();
+        for (long id = 1; id <= 5000; id++) {
+            index.put("article-" + id, id);
+        }
+        assertThat(index.size()).isEqualTo(5000);
+
+        for (long id = 1; id <= 5000; id += 2) {
+            index.remove("article-" + id);
+        }
+        assertThat(index.size()).isEqualTo(2500);
+
+        for (long id = 1; id <= 5000; id++) {
+            Long expected = id % 2 == 0 ? id : null;
+            assertThat(index.get("article-" + id)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void putReplacesExistingMapping() {
+        SlugIndex index = new SlugIndex();
+        index.put("mon-article", 1L);
+        index.put("mon-article", 2L);
+
+        assertThat(index.get("mon-article")).isEqualTo(2L);
+        assertThat(index.size()).isEqualTo(1);
+        index.remove("inconnu");
+        assertThat(index.size()).isEqualTo(1);
+    }
+}
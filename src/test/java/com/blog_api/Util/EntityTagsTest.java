@@ -0,0 +1,65 @@
+package com.blog_api.Util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityTagsTest {
+
+    @Test
+    void ifNoneMatchUsesWeakComparison() {
+        String etag = EntityTags.of(3L, 10, 2, 5);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("W/" + etag);
+        assertThat(EntityTags.notModified(headers, etag, -1)).isTrue();
+        assertThat(EntityTags.notModified(headers, EntityTags.of(3L, 11, 2, 5), -1)).isFalse();
+    }
+
+    @Test
+    void countersAreEmbeddedVerbatim() {
+        assertThat(EntityTags.of(3L, 10, 2, 5)).isEqualTo("\"3-10-2-5\"");
+        assertThat(EntityTags.of(3L, 10, null, 5)).isEqualTo("\"3-10--5\"");
+        assertThat(EntityTags.of(null)).isEqualTo("\"0\"");
+        // Même empreinte Arrays.hashCode, représentations différentes
+        assertThat(EntityTags.of(3L, 10, 3, 5)).isNotEqualTo(EntityTags.of(3L, 10, 2, 36));
+    }
+
+    @Test
+    void ifMatchComparesTheVersionOnly() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch(EntityTags.of(7L, 100, 4, 1));
+        assertThat(EntityTags.expectedVersion(headers)).isEqualTo(7L);
+
+        headers.setIfMatch("*");
+        assertThat(EntityTags.expectedVersion(headers)).isNull();
+        assertThat(EntityTags.expectedVersion(new HttpHeaders())).isNull();
+    }
+
+    @Test
+    void unreadableIfMatchNeverMatches() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch("W/\"7\"");
+        assertThat(EntityTags.expectedVersion(headers)).isEqualTo(-1L);
+        headers.setIfMatch("\"abc\"");
+        assertThat(EntityTags.expectedVersion(headers)).isEqualTo(-1L);
+    }
+
+    @Test
+    void encodedVariantsHaveTheirOwnTagAndKeepTheVersion() {
+        String etag = EntityTags.of(7L, 100, 4, 1);
+        String gzip = EntityTags.variant(etag, "gzip");
+        assertThat(gzip).isEqualTo("\"7-100-4-1-gzip\"").isNotEqualTo(etag);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(gzip);
+        assertThat(EntityTags.matching(headers, etag, gzip)).isEqualTo(gzip);
+        headers.setIfNoneMatch(etag);
+        assertThat(EntityTags.matching(headers, etag, gzip)).isEqualTo(etag);
+        headers.setIfNoneMatch(EntityTags.variant(EntityTags.of(7L, 101, 4, 1), "gzip"));
+        assertThat(EntityTags.matching(headers, etag, gzip)).isNull();
+
+        headers.setIfMatch(gzip);
+        assertThat(EntityTags.expectedVersion(headers)).isEqualTo(7L);
+    }
+}
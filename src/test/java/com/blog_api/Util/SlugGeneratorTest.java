@@ -0,0 +1,28 @@
+package com.blog_api.Util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlugGeneratorTest {
+
+    @Test
+    void foldsDiacriticsAndCollapsesSeparators() {
+        assertThat(SlugGenerator.slugify("Été")).isEqualTo("ete");
+        assertThat(SlugGenerator.slugify("  Été 2024 : l'œuvre !  ")).isEqualTo("ete-2024-l-oeuvre");
+        assertThat(SlugGenerator.slugify("Spring -- Boot")).isEqualTo("spring-boot");
+    }
+
+    @Test
+    void fallsBackWhenNothingIsLeft() {
+        assertThat(SlugGenerator.slugify("!!! ???")).isEqualTo("article");
+        assertThat(SlugGenerator.slugify(null)).isEqualTo("article");
+    }
+
+    @Test
+    void truncatesLongTitles() {
+        String slug = SlugGenerator.slugify("mot ".repeat(100));
+        assertThat(slug.length()).isLessThanOrEqualTo(SlugGenerator.MAX_LENGTH);
+        assertThat(slug).doesNotEndWith("-");
+    }
+}